@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the packaging variants.
+#
+# Build the variants first:
+#   ./mvnw -Pcds package                  -> target/*.jar (AOT-processed) and target/cds/
+#   ./mvnw -Pnative native:compile        -> target/JWTRebuild
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Extra application arguments (database URL, profile, ...) can be passed in APP_ARGS.
+set -euo pipefail
+
+RUNS="${1:-5}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(ls "$TARGET"/JWTRebuild-*.jar | grep -v original | head -n 1)"
+CDS_JAR="$TARGET/cds/$(basename "$JAR")"
+NATIVE="$TARGET/JWTRebuild"
+APP_ARGS="${APP_ARGS:-}"
+
+measure() {
+	local name="$1"
+	shift
+	local total_ms=0 total_rss=0
+	for _ in $(seq "$RUNS"); do
+		local log
+		log="$(mktemp)"
+		local start
+		start=$(date +%s%N)
+		"$@" $APP_ARGS >"$log" 2>&1 &
+		local pid=$!
+		until grep -q "Started JwtRebuildApplication" "$log"; do
+			if ! kill -0 "$pid" 2>/dev/null; then
+				echo "$name failed to start, see $log" >&2
+				return 1
+			fi
+			sleep 0.01
+		done
+		local elapsed_ms=$((($(date +%s%N) - start) / 1000000))
+		local rss_kb
+		rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+		kill "$pid" && wait "$pid" 2>/dev/null || true
+		rm -f "$log"
+		total_ms=$((total_ms + elapsed_ms))
+		total_rss=$((total_rss + rss_kb))
+	done
+	printf "%-12s %10d %10d\n" "$name" $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+printf "%-12s %10s %10s\n" "variant" "start ms" "rss MB"
+measure "jar" java -jar "$JAR"
+measure "jar+aot" java -Dspring.aot.enabled=true -jar "$JAR"
+if [ -f "$TARGET/cds/application.jsa" ]; then
+	measure "aot+cds" java -XX:SharedArchiveFile="$TARGET/cds/application.jsa" -Dspring.aot.enabled=true -jar "$CDS_JAR"
+fi
+if [ -x "$NATIVE" ]; then
+	measure "native" "$NATIVE"
+fi
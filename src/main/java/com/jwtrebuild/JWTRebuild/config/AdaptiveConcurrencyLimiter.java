@@ -0,0 +1,130 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient approach: a slow
+ * moving average of response time is the no-load baseline, a fast one is the current
+ * value. While the current value stays within {@code tolerance} of the baseline the limit
+ * grows by about its square root; beyond that it shrinks in proportion, down to half per
+ * adjustment. Each priority may only use its share of the limit, so lower classes are shed
+ * first and admin traffic last.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+	public enum Priority {
+		ADMIN(1.0), AUTHENTICATED(0.9), SIGN_IN(0.6);
+
+		private final double share;
+
+		Priority(double share) {
+			this.share = share;
+		}
+	}
+
+	private static final double SHORT_WEIGHT = 0.1;
+	private static final double LONG_WEIGHT = 1.0 / 600;
+	private static final double SMOOTHING = 0.2;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile double limit;
+	private final LongAdder[] shed = new LongAdder[Priority.values().length];
+
+	// Samples that arrive while another is being applied are dropped; the averages do not need them all
+	private final ReentrantLock sampleLock = new ReentrantLock();
+	private double shortRttNanos;
+	private double longRttNanos;
+
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+		if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit
+				|| tolerance < 1) {
+			throw new IllegalArgumentException("concurrency limit must satisfy 1 <= min <= initial <= max, tolerance >= 1");
+		}
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		for (int i = 0; i < shed.length; i++) {
+			shed[i] = new LongAdder();
+		}
+	}
+
+	// False means shed the request now rather than queue it
+	public boolean tryAcquire(Priority priority) {
+		int allowed = Math.max(1, (int) (limit * priority.share));
+		while (true) {
+			int current = inFlight.get();
+			if (current >= allowed) {
+				shed[priority.ordinal()].increment();
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	public void release(long rttNanos) {
+		int inFlightAtCompletion = inFlight.getAndDecrement();
+		if (sampleLock.tryLock()) {
+			try {
+				onSample(rttNanos, inFlightAtCompletion);
+			} finally {
+				sampleLock.unlock();
+			}
+		}
+	}
+
+	private void onSample(long rttNanos, int inFlightAtCompletion) {
+		if (longRttNanos == 0) {
+			shortRttNanos = rttNanos;
+			longRttNanos = rttNanos;
+			return;
+		}
+		shortRttNanos += (rttNanos - shortRttNanos) * SHORT_WEIGHT;
+		longRttNanos += (rttNanos - longRttNanos) * LONG_WEIGHT;
+		// Let the baseline come down quickly once a slow period is over
+		if (longRttNanos > 2 * shortRttNanos) {
+			longRttNanos *= 0.95;
+		}
+		// Far below the limit there is no queueing to learn from
+		double current = limit;
+		if (inFlightAtCompletion < current / 2) {
+			return;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+		double target = current * gradient + Math.sqrt(current);
+		double next = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+		if ((int) next != (int) current) {
+			log.debug("Concurrency limit {} -> {} (recent {} us, baseline {} us)", (int) current, (int) next,
+					(long) shortRttNanos / 1000, (long) longRttNanos / 1000);
+		}
+		limit = next;
+	}
+
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	public long getShed(Priority priority) {
+		return shed[priority.ordinal()].sum();
+	}
+}
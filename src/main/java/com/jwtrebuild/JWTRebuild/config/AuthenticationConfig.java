@@ -0,0 +1,48 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.jwtrebuild.JWTRebuild.service.CustomUserDetailService;
+
+// Password sign-in, shared by the servlet and the reactive (edge) stacks; each stack builds
+// its AuthenticationManager from the provider
+@Configuration
+public class AuthenticationConfig {
+
+	private static final String BCRYPT_ENCODER_ID = "bcrypt";
+
+	@Autowired
+	private CustomUserDetailService customUserDetailService;
+
+	@Autowired
+	private BcryptStrengthCalibrator bcryptStrengthCalibrator;
+
+	@Bean
+	public AuthenticationProvider authenticationProvider() {
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(customUserDetailService);
+		provider.setPasswordEncoder(passwordEncoder());
+		// Rehash and persist on successful sign-in when the stored hash is weaker than today's
+		provider.setUserDetailsPasswordService(customUserDetailService);
+		return provider;
+	}
+
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		int strength = bcryptStrengthCalibrator.calibrate();
+		PasswordEncoder bcrypt = new RecordingPasswordEncoder(new BCryptPasswordEncoder(strength), strength);
+		DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ENCODER_ID,
+				Map.of(BCRYPT_ENCODER_ID, bcrypt));
+		// Hashes stored before the switch have no {bcrypt} prefix
+		encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+		return encoder;
+	}
+}
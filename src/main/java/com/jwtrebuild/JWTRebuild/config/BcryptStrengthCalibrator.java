@@ -0,0 +1,72 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class BcryptStrengthCalibrator {
+
+	private static final int SAMPLES = 3;
+	private static final String SAMPLE_PASSWORD = "calibration-password";
+
+	private final int fixedStrength;
+	private final long targetNanos;
+	private final int minStrength;
+	private final int maxStrength;
+
+	public BcryptStrengthCalibrator(@Value("${security.password.bcrypt.strength:0}") int fixedStrength,
+			@Value("${security.password.bcrypt.target-latency:250ms}") Duration targetLatency,
+			@Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+			@Value("${security.password.bcrypt.max-strength:14}") int maxStrength) {
+		if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+			throw new IllegalArgumentException("bcrypt strength bounds must satisfy 4 <= min <= max <= 31");
+		}
+		this.fixedStrength = fixedStrength;
+		this.targetNanos = targetLatency.toNanos();
+		this.minStrength = minStrength;
+		this.maxStrength = maxStrength;
+	}
+
+	// Picks the highest work factor whose hash still fits the target latency on this machine
+	public int calibrate() {
+		if (fixedStrength > 0) {
+			log.info("Using fixed bcrypt strength {}", fixedStrength);
+			return fixedStrength;
+		}
+
+		// First hashes run interpreted; keep them out of the measurement
+		new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+		long baseline = medianEncodeNanos(minStrength);
+
+		// Each extra round doubles the cost
+		int strength = minStrength;
+		long estimate = baseline;
+		while (strength < maxStrength && estimate * 2 <= targetNanos) {
+			strength++;
+			estimate *= 2;
+		}
+
+		log.info("Calibrated bcrypt strength {} (~{} ms per hash, target {} ms, strength {} took {} ms)", strength,
+				estimate / 1_000_000, targetNanos / 1_000_000, minStrength, baseline / 1_000_000);
+		return strength;
+	}
+
+	private static long medianEncodeNanos(int strength) {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+		long[] samples = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			encoder.encode(SAMPLE_PASSWORD);
+			samples[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(samples);
+		return samples[SAMPLES / 2];
+	}
+}
@@ -0,0 +1,105 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+// Runs ahead of the security chain, so shed requests cost no DB work. Requests are classed by
+// what they can prove: without a verified access token a request is in the lowest class, and
+// the admin share also needs the ADMIN authority, so anonymous traffic cannot claim a higher
+// class with a junk header or by picking the URL.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final AdaptiveConcurrencyLimiter limiter;
+	private final JWTService jwtService;
+	private final boolean enabled;
+
+	public ConcurrencyLimitFilter(JWTService jwtService, @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+			@Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+			@Value("${app.concurrency-limit.min-limit:8}") int minLimit,
+			@Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+			@Value("${app.concurrency-limit.tolerance:1.5}") double tolerance) {
+		this.jwtService = jwtService;
+		this.enabled = enabled;
+		this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance);
+	}
+
+	public AdaptiveConcurrencyLimiter getLimiter() {
+		return limiter;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		AdaptiveConcurrencyLimiter.Priority priority = priorityOf(request);
+		if (!limiter.tryAcquire(priority)) {
+			log.debug("Shed {} request to {} at limit {}", priority, request.getRequestURI(), limiter.getLimit());
+			response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			response.setContentType("application/json");
+			response.getWriter()
+					.write("{\"error\": \"Service Unavailable\", \"message\": \"Server is overloaded, retry shortly\"}");
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			// A streaming response outlives this call; its duration says nothing about load
+			if (request.isAsyncStarted()) {
+				limiter.release();
+			} else {
+				limiter.release(System.nanoTime() - start);
+			}
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getServletPath();
+		// Health checks are never shed, so an overloaded node is not also reported dead
+		return !enabled || path.equals("/api/auth/health") || path.startsWith("/actuator/health");
+	}
+
+	private AdaptiveConcurrencyLimiter.Priority priorityOf(HttpServletRequest request) {
+		String path = request.getServletPath();
+		String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (path.startsWith("/api/auth/signin") || path.startsWith("/api/auth/signup") || authHeader == null
+				|| !authHeader.startsWith(BEARER_PREFIX)) {
+			return AdaptiveConcurrencyLimiter.Priority.SIGN_IN;
+		}
+		// Signature and expiry only, no lookups; the security chain still does the full check
+		try {
+			List<String> authorities = jwtService
+					.extractAuthorities(jwtService.verifyAccessToken(authHeader.substring(BEARER_PREFIX.length())));
+			return path.startsWith("/api/admin/") && authorities.contains("ADMIN")
+					? AdaptiveConcurrencyLimiter.Priority.ADMIN
+					: AdaptiveConcurrencyLimiter.Priority.AUTHENTICATED;
+		} catch (JwtException | IllegalArgumentException e) {
+			return AdaptiveConcurrencyLimiter.Priority.SIGN_IN;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Sends read-only transactions to a pool of replicas, everything else to the primary
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+	@Value("${spring.datasource.username:}")
+	private String username;
+
+	@Value("${spring.datasource.password:}")
+	private String password;
+
+	@Bean
+	public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+			@Value("${app.datasource.primary.maximum-pool-size:10}") int maximumPoolSize) {
+		return createPool("primary", url, maximumPoolSize, false);
+	}
+
+	@Bean
+	public ReplicaPoolDataSource replicaPoolDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+			@Value("${app.datasource.replica.urls}") String[] replicaUrls,
+			@Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+			@Value("${app.datasource.replica.selection:round-robin}") String selection,
+			@Value("${app.datasource.replica.retry-after:10s}") Duration retryAfter) {
+		List<DataSource> replicas = Arrays.stream(replicaUrls).map(String::trim).filter(url -> !url.isEmpty())
+				.<DataSource>map(url -> createPool("replica", url, maximumPoolSize, true)).toList();
+		if (replicas.isEmpty()) {
+			throw new IllegalStateException("app.datasource.replica.urls must list at least one replica");
+		}
+		ReplicaPoolDataSource.Selection strategy = ReplicaPoolDataSource.Selection
+				.valueOf(selection.trim().toUpperCase().replace('-', '_'));
+		return new ReplicaPoolDataSource(replicas, primaryDataSource, strategy, retryAfter.toMillis());
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+			ReplicaPoolDataSource replicaPoolDataSource, ReadYourWritesTracker readYourWritesTracker) {
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaPoolDataSource,
+				readYourWritesTracker);
+		routing.afterPropertiesSet();
+		// Defer the physical connection until the transaction's read-only flag is known
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	private HikariDataSource createPool(String role, String url, int maximumPoolSize, boolean readOnly) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName(role + "-" + Math.abs(url.hashCode()));
+		config.setJdbcUrl(url);
+		config.setUsername(username);
+		config.setPassword(password);
+		config.setMaximumPoolSize(maximumPoolSize);
+		config.setReadOnly(readOnly);
+		// Start even if the database is briefly unreachable; health fallback covers it
+		config.setInitializationFailTimeout(-1);
+		return new HikariDataSource(config);
+	}
+}
@@ -2,6 +2,7 @@ package com.jwtrebuild.JWTRebuild.config;
 
 import java.io.IOException;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,6 +15,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.jwtrebuild.JWTRebuild.service.CustomUserDetailService;
 import com.jwtrebuild.JWTRebuild.service.JWTService;
+import com.jwtrebuild.JWTRebuild.service.UserInvalidationRegistry;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -29,14 +31,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	private static final String BEARER_PREFIX = "Bearer ";
 	private static final String USERNAME_ATTRIBUTE = "username";
-	private static final String TOKEN_ATTRIBUTE = "jwt_token";
+	public static final String TOKEN_ATTRIBUTE = "jwt_token";
 
 	private final JWTService jwtService;
 	private final CustomUserDetailService customUserDetailService;
+	private final UserInvalidationRegistry userInvalidationRegistry;
 
 	@Override
 	protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
@@ -44,7 +48,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		// Check if this is an auth endpoint - skip JWT processing
 		String path = request.getServletPath();
 		if (path.startsWith("/api/auth/signin") || path.startsWith("/api/auth/signup")
-				|| path.startsWith("/api/auth/refresh") || path.equals("/api/auth/health")) {
+				|| path.startsWith("/api/auth/refresh") || path.equals("/api/auth/introspect")
+				|| path.equals("/api/auth/health")) {
 			filterChain.doFilter(request, response);
 			return;
 		}
@@ -77,6 +82,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 				return;
 			}
 
+			if (isRevoked(jwtToken, username)) {
+				log.warn("Revoked JWT token for user: {}", username);
+				handleJwtException(response, "Token has been revoked", HttpServletResponse.SC_UNAUTHORIZED);
+				return;
+			}
+
 			authenticatedUser(request, jwtToken, username);
 
 		} catch (ExpiredJwtException e) {
@@ -123,6 +134,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 	}
 
+	// Logout or a role change on any node cuts off access tokens issued before it
+	private boolean isRevoked(String jwtToken, String username) {
+		if (!userInvalidationRegistry.hasEntry(username)) {
+			return false;
+		}
+		return jwtService.extractClaim(jwtToken, jwtService::issuedAtMillis, false)
+				.map(issuedAt -> userInvalidationRegistry.isInvalidated(username, issuedAt)).orElse(false);
+	}
+
 	private String extractJwtFromHeader(String authHeader) {
 		if (authHeader.length() <= BEARER_PREFIX.length()) {
 			throw new MalformedJwtException("Authorization header is too short");
@@ -135,7 +155,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		String path = request.getServletPath();
 		// Return true to skip filtering for these paths
 		return path.startsWith("/api/auth/signin") || path.startsWith("/api/auth/signup")
-				|| path.startsWith("/api/auth/refresh") || path.startsWith("/swagger")
+				|| path.startsWith("/api/auth/refresh") || path.equals("/api/auth/introspect")
+				|| path.startsWith("/swagger")
 				|| path.startsWith("/v3/api-docs") || path.startsWith("/actuator/health")
 				|| path.equals("/api/auth/health");
 	}
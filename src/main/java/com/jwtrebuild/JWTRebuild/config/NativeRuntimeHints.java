@@ -0,0 +1,50 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.entity.RefreshSession;
+import com.jwtrebuild.JWTRebuild.entity.SessionInvalidationEvent;
+import com.jwtrebuild.JWTRebuild.entity.User;
+
+// Reachability metadata for AOT/native builds that classpath scanning can't infer
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+	// jjwt-api loads its implementation reflectively by class name (jjwt-impl is runtime scope)
+	private static final String[] JJWT_IMPL_TYPES = { "io.jsonwebtoken.impl.DefaultJwtBuilder",
+			"io.jsonwebtoken.impl.DefaultJwtParserBuilder", "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+			"io.jsonwebtoken.impl.DefaultClaimsBuilder", "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+			"io.jsonwebtoken.impl.security.KeysBridge", "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+			"io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+			"io.jsonwebtoken.impl.security.StandardKeyAlgorithms", "io.jsonwebtoken.impl.security.StandardKeyOperations",
+			"io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+			"io.jsonwebtoken.impl.security.DefaultJwkParserBuilder", "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+			"io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+			"io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder" };
+
+	// jjwt finds its JSON (de)serializer through java.util.ServiceLoader
+	private static final String[] JJWT_JACKSON_TYPES = { "io.jsonwebtoken.jackson.io.JacksonSerializer",
+			"io.jsonwebtoken.jackson.io.JacksonDeserializer" };
+
+	@Override
+	public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+		for (String type : JJWT_IMPL_TYPES) {
+			hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+					MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.ACCESS_DECLARED_FIELDS);
+		}
+		for (String type : JJWT_JACKSON_TYPES) {
+			hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+		}
+		hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+		// Hibernate reads and writes entity state through field reflection
+		for (Class<?> entity : new Class<?>[] { User.class, Product.class, RefreshSession.class,
+				SessionInvalidationEvent.class }) {
+			hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+					MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.ACCESS_DECLARED_FIELDS);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Not a bean: WebFlux would otherwise also run it outside the security chain
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final ReactiveAuthenticationManager authenticationManager;
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		String path = exchange.getRequest().getPath().pathWithinApplication().value();
+		if (path.startsWith("/api/public/") || path.startsWith("/actuator/health")) {
+			return chain.filter(exchange);
+		}
+
+		String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+			return handleJwtException(exchange.getResponse(), "Missing or invalid Authorization header");
+		}
+		if (authHeader.length() <= BEARER_PREFIX.length()) {
+			return handleJwtException(exchange.getResponse(), "Malformed token");
+		}
+
+		String jwtToken = authHeader.substring(BEARER_PREFIX.length());
+		return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(null, jwtToken))
+				.switchIfEmpty(Mono.error(() -> new BadCredentialsException("Authentication failed")))
+				.onErrorResume(AuthenticationException.class, e -> {
+					log.warn("JWT authentication failed for request {}: {}", path, e.getMessage());
+					return handleJwtException(exchange.getResponse(), e.getMessage()).then(Mono.<Authentication>empty());
+				})
+				.flatMap(authentication -> chain.filter(exchange)
+						.contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)));
+	}
+
+	private Mono<Void> handleJwtException(ServerHttpResponse response, String message) {
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		byte[] body = String.format("{\"error\": \"Unauthorized\", \"message\": \"%s\"}", message)
+				.getBytes(StandardCharsets.UTF_8);
+		DataBuffer buffer = response.bufferFactory().wrap(body);
+		return response.writeWith(Mono.just(buffer));
+	}
+}
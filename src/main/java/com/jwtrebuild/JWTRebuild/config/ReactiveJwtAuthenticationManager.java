@@ -0,0 +1,88 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.util.List;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+import com.jwtrebuild.JWTRebuild.service.UserInvalidationRegistry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Authenticates a bearer access token for the reactive stack. Verification is the same
+ * {@link JWTService#verifyAccessToken} the servlet filter relies on and is pure CPU, so it
+ * runs on the event loop. Authorities come from the token claims; the user row is only
+ * loaded when {@code loadUserPerRequest} is set.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+	private final JWTService jwtService;
+	private final UserInvalidationRegistry userInvalidationRegistry;
+	private final ReactiveUserDetailsService userLookup;
+	private final boolean loadUserPerRequest;
+
+	@Override
+	public Mono<Authentication> authenticate(Authentication authentication) {
+		String token = (String) authentication.getCredentials();
+		return Mono.fromCallable(() -> verify(token)).flatMap(claims -> {
+			if (!loadUserPerRequest) {
+				return Mono.just(authenticated(claims.getSubject(), jwtService.extractAuthorities(claims).stream()
+						.<GrantedAuthority>map(SimpleGrantedAuthority::new).toList()));
+			}
+			return userLookup.findByUsername(claims.getSubject())
+					.map(user -> authenticated(user, List.copyOf(user.getAuthorities())))
+					.switchIfEmpty(Mono.error(() -> new BadCredentialsException("User not found")));
+		}).onErrorMap(JwtException.class, ReactiveJwtAuthenticationManager::translate);
+	}
+
+	private Claims verify(String token) {
+		Claims claims = jwtService.verifyAccessToken(token);
+		String username = claims.getSubject();
+		if (username == null) {
+			throw new MalformedJwtException("Token has no subject");
+		}
+		// Logout or a role change on any node cuts off access tokens issued before it
+		Long issuedAt = jwtService.issuedAtMillis(claims);
+		if (userInvalidationRegistry.hasEntry(username) && issuedAt != null
+				&& userInvalidationRegistry.isInvalidated(username, issuedAt)) {
+			log.warn("Revoked JWT token for user: {}", username);
+			throw new BadCredentialsException("Token has been revoked");
+		}
+		return claims;
+	}
+
+	private static Authentication authenticated(Object principal, List<GrantedAuthority> authorities) {
+		return UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
+	}
+
+	// Same messages as the servlet filter, so clients see one contract on both stacks
+	private static Throwable translate(JwtException e) {
+		if (e instanceof ExpiredJwtException) {
+			return new CredentialsExpiredException("Token has expired", e);
+		}
+		if (e instanceof SignatureException) {
+			return new BadCredentialsException("Invalid token signature", e);
+		}
+		if (e instanceof MalformedJwtException) {
+			return new BadCredentialsException("Malformed token", e);
+		}
+		return new BadCredentialsException("Invalid token", e);
+	}
+}
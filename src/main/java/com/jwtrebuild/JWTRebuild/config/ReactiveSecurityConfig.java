@@ -0,0 +1,61 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+import com.jwtrebuild.JWTRebuild.service.ReactiveUserLookupService;
+import com.jwtrebuild.JWTRebuild.service.UserInvalidationRegistry;
+
+// Edge mode (profile "edge"): the same URL rules as SecurityConfig on WebFlux
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+	@Bean
+	public ReactiveJwtAuthenticationManager reactiveJwtAuthenticationManager(JWTService jwtService,
+			UserInvalidationRegistry userInvalidationRegistry, ReactiveUserLookupService reactiveUserLookupService,
+			@Value("${app.edge.load-user-per-request:false}") boolean loadUserPerRequest) {
+		return new ReactiveJwtAuthenticationManager(jwtService, userInvalidationRegistry, reactiveUserLookupService,
+				loadUserPerRequest);
+	}
+
+	// Edge nodes serve no sign-in, but AuthService is shared; without @EnableWebSecurity there is
+	// no Boot-managed manager, so wire the event publisher the servlet one would have
+	@Bean
+	public AuthenticationManager authenticationManager(AuthenticationProvider authenticationProvider,
+			ObjectProvider<AuthenticationEventPublisher> authenticationEventPublisher) {
+		ProviderManager providerManager = new ProviderManager(authenticationProvider);
+		authenticationEventPublisher.ifAvailable(providerManager::setAuthenticationEventPublisher);
+		return providerManager;
+	}
+
+	@Bean
+	public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+			ReactiveJwtAuthenticationManager reactiveJwtAuthenticationManager) {
+		return http.csrf(ServerHttpSecurity.CsrfSpec::disable).httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+				.formLogin(ServerHttpSecurity.FormLoginSpec::disable).logout(ServerHttpSecurity.LogoutSpec::disable)
+				// Stateless: nothing is stored between requests
+				.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+				.authorizeExchange(exchange -> exchange.pathMatchers("/api/public/**", "/actuator/health/**")
+						.permitAll().pathMatchers("/api/admin/**").hasAuthority("ADMIN").pathMatchers("/api/user/**")
+						.hasAuthority("USER").pathMatchers("/api/share/**").hasAnyAuthority("ADMIN", "USER")
+						.anyExchange().authenticated())
+				.addFilterAt(new ReactiveJwtAuthenticationFilter(reactiveJwtAuthenticationManager),
+						SecurityWebFiltersOrder.AUTHENTICATION)
+				.build();
+	}
+}
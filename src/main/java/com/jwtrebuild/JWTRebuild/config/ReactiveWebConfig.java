@@ -0,0 +1,21 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+	// JPA stays blocking, so repository calls are moved off the event loop onto this
+	// pool. More threads than pooled connections would only queue inside Hikari.
+	@Bean(destroyMethod = "dispose")
+	public Scheduler jdbcScheduler(@Value("${app.edge.jdbc-threads:10}") int jdbcThreads) {
+		return Schedulers.newBoundedElastic(jdbcThreads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "edge-jdbc");
+	}
+}
@@ -0,0 +1,58 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Route {
+		PRIMARY, REPLICA
+	}
+
+	private final ReadYourWritesTracker readYourWritesTracker;
+
+	public ReadWriteRoutingDataSource(DataSource primary, DataSource replicas,
+			ReadYourWritesTracker readYourWritesTracker) {
+		this.readYourWritesTracker = readYourWritesTracker;
+		setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replicas));
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		// Only read-only transactions may go to a replica, and only outside the
+		// caller's read-your-writes window
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				&& !readYourWritesTracker.requiresPrimary()) {
+			return Route.REPLICA;
+		}
+		return Route.PRIMARY;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Connection connection = super.getConnection();
+		trackWrite();
+		return connection;
+	}
+
+	private void trackWrite() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				readYourWritesTracker.recordWriteForCurrentUser();
+			}
+		});
+	}
+}
@@ -0,0 +1,78 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReadYourWritesTracker {
+
+	private static final int PURGE_THRESHOLD = 10_000;
+
+	private final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+	private final Map<String, Long> lastWriteBySubject = new ConcurrentHashMap<>();
+	private final long windowMillis;
+
+	public ReadYourWritesTracker(@Value("${app.datasource.read-your-writes-window:5s}") Duration window) {
+		this.windowMillis = window.toMillis();
+	}
+
+	// Remember that this subject just wrote, so its reads stay on the primary for
+	// the replication window
+	public void recordWrite(String subject) {
+		if (subject == null || windowMillis <= 0) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		lastWriteBySubject.put(subject, now);
+		if (lastWriteBySubject.size() > PURGE_THRESHOLD) {
+			lastWriteBySubject.values().removeIf(writtenAt -> now - writtenAt > windowMillis);
+		}
+	}
+
+	public void recordWriteForCurrentUser() {
+		recordWrite(currentSubject());
+	}
+
+	public boolean hasRecentWrite(String subject) {
+		if (subject == null) {
+			return false;
+		}
+		Long writtenAt = lastWriteBySubject.get(subject);
+		return writtenAt != null && System.currentTimeMillis() - writtenAt <= windowMillis;
+	}
+
+	// True when the current read must not be served by a replica
+	public boolean requiresPrimary() {
+		return Boolean.TRUE.equals(pinnedToPrimary.get()) || hasRecentWrite(currentSubject());
+	}
+
+	// Run the supplier with every read pinned to the primary
+	public <T> T onPrimary(Supplier<T> supplier) {
+		if (Boolean.TRUE.equals(pinnedToPrimary.get())) {
+			return supplier.get();
+		}
+		pinnedToPrimary.set(Boolean.TRUE);
+		try {
+			return supplier.get();
+		} finally {
+			pinnedToPrimary.remove();
+		}
+	}
+
+	private String currentSubject() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+				|| !authentication.isAuthenticated()) {
+			return null;
+		}
+		return authentication.getName();
+	}
+}
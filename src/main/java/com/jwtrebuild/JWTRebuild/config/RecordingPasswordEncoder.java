@@ -0,0 +1,63 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.jwtrebuild.JWTRebuild.jfr.PasswordHashEvent;
+
+// Emits a JFR event around every bcrypt call: sign-up, sign-in, provisioning and rehash
+public class RecordingPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+	private final int strength;
+
+	public RecordingPasswordEncoder(PasswordEncoder delegate, int strength) {
+		this.delegate = delegate;
+		this.strength = strength;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		PasswordHashEvent event = new PasswordHashEvent();
+		event.begin();
+		String outcome = "error";
+		try {
+			String encoded = delegate.encode(rawPassword);
+			outcome = "encoded";
+			return encoded;
+		} finally {
+			event.finish("encode", outcome, strength);
+		}
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		PasswordHashEvent event = new PasswordHashEvent();
+		event.begin();
+		String outcome = "error";
+		try {
+			boolean matches = delegate.matches(rawPassword, encodedPassword);
+			outcome = matches ? "match" : "mismatch";
+			return matches;
+		} finally {
+			// Stored hashes may predate the current strength; the cost is in the hash itself
+			event.finish("match", outcome, strengthOf(encodedPassword));
+		}
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private static int strengthOf(String encodedPassword) {
+		// $2a$10$... carries the cost factor in characters 4 and 5
+		if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(encodedPassword.substring(4, 6));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
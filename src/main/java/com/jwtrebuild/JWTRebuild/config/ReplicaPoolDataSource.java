@@ -0,0 +1,106 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ReplicaPoolDataSource extends AbstractDataSource {
+
+	public enum Selection {
+		ROUND_ROBIN, LEAST_LOADED
+	}
+
+	private final List<Replica> replicas;
+	private final DataSource fallback;
+	private final Selection selection;
+	private final long retryAfterMillis;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaPoolDataSource(List<DataSource> replicas, DataSource fallback, Selection selection,
+			long retryAfterMillis) {
+		this.replicas = replicas.stream().map(Replica::new).toList();
+		this.fallback = fallback;
+		this.selection = selection;
+		this.retryAfterMillis = retryAfterMillis;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connect(null, null);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return connect(username, password);
+	}
+
+	// Null credentials use the ones each pool was configured with
+	private Connection connect(String username, String password) throws SQLException {
+		int count = replicas.size();
+		int start = selection == Selection.LEAST_LOADED ? leastLoaded() : Math.floorMod(next.getAndIncrement(), count);
+		long now = System.currentTimeMillis();
+
+		for (int i = 0; i < count; i++) {
+			Replica replica = replicas.get((start + i) % count);
+			if (replica.downUntil > now) {
+				continue;
+			}
+			try {
+				return username == null ? replica.dataSource.getConnection()
+						: replica.dataSource.getConnection(username, password);
+			} catch (SQLException e) {
+				replica.downUntil = now + retryAfterMillis;
+				log.warn("Replica {} unavailable, retrying in {} ms: {}", (start + i) % count, retryAfterMillis,
+						e.getMessage());
+			}
+		}
+
+		// No healthy replica - serve the read from the primary
+		return username == null ? fallback.getConnection() : fallback.getConnection(username, password);
+	}
+
+	private int leastLoaded() {
+		int best = 0;
+		int bestActive = Integer.MAX_VALUE;
+		for (int i = 0; i < replicas.size(); i++) {
+			int active = replicas.get(i).activeConnections();
+			if (active < bestActive) {
+				best = i;
+				bestActive = active;
+			}
+		}
+		return best;
+	}
+
+	private static final class Replica {
+
+		private final DataSource dataSource;
+		private volatile long downUntil;
+
+		Replica(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		int activeConnections() {
+			if (downUntil > System.currentTimeMillis()) {
+				return Integer.MAX_VALUE;
+			}
+			if (dataSource instanceof HikariDataSource hikari) {
+				HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+				return pool == null ? 0 : pool.getActiveConnections();
+			}
+			return 0;
+		}
+	}
+}
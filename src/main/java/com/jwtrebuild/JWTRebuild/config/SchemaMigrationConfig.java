@@ -0,0 +1,28 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Flyway owns the schema; Hibernate only validates it
+@Slf4j
+@Configuration
+public class SchemaMigrationConfig {
+
+	// Checked at runtime rather than as a bean condition, so it still works in AOT builds
+	// (the CDS training run has no database to migrate)
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy(
+			@Value("${app.schema.migrate-on-startup:true}") boolean migrateOnStartup) {
+		return flyway -> {
+			if (migrateOnStartup) {
+				flyway.migrate();
+			} else {
+				log.info("Skipping schema migration on startup");
+			}
+		};
+	}
+}
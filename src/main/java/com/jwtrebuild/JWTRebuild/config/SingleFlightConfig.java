@@ -0,0 +1,32 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.entity.User;
+import com.jwtrebuild.JWTRebuild.service.SingleFlight;
+
+@Configuration
+public class SingleFlightConfig {
+
+	@Value("${app.single-flight.timeout:2s}")
+	private Duration timeout;
+
+	@Value("${app.single-flight.max-waiters:1000}")
+	private int maxWaiters;
+
+	@Bean
+	public SingleFlight<Integer, Optional<Product>> productLookups() {
+		return new SingleFlight<>("product", timeout, maxWaiters);
+	}
+
+	@Bean
+	public SingleFlight<String, Optional<User>> userLookups() {
+		return new SingleFlight<>("user", timeout, maxWaiters);
+	}
+}
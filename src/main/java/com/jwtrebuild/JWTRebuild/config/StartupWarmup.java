@@ -0,0 +1,167 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+import com.jwtrebuild.JWTRebuild.repository.ProductRepository;
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+import com.jwtrebuild.JWTRebuild.service.ProductCatalogIndex;
+import com.jwtrebuild.JWTRebuild.service.ProductService;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Runs the hot request paths with synthetic input before the instance reports ready.
+ * Spring Boot only moves readiness to ACCEPTING_TRAFFIC once application runners return,
+ * so until this finishes the health endpoint answers 503 and load balancers keep traffic
+ * away. Caches are filled first; token, product list and JSON work then repeats in rounds
+ * until the per-operation latency stops improving, which is when the JIT has compiled it.
+ * The filled index answers the product list, so each round also pages the repository to
+ * warm the JPA, connection pool and replica routing path it falls back to.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+	private static final String SAMPLE_USER = "warmup@localhost";
+	private static final String SAMPLE_PASSWORD = "warmup-password";
+	// Each hash costs the calibrated target latency; a few are enough to load the crypto classes
+	private static final int PASSWORD_HASHES = 3;
+	private static final int SETTLED_ROUNDS = 2;
+
+	public record Report(Duration duration, int rounds, boolean settled, long tokenMicros, long listMicros,
+			long databaseMicros, long jsonMicros) {
+	}
+
+	private final JWTService jwtService;
+	private final PasswordEncoder passwordEncoder;
+	private final ProductService productService;
+	private final ProductRepository productRepository;
+	private final ProductCatalogIndex productCatalogIndex;
+	private final JsonMapper jsonMapper;
+	private final boolean enabled;
+	private final Duration maxDuration;
+	private final int roundSize;
+	private final double tolerance;
+
+	private volatile Report report;
+
+	public StartupWarmup(JWTService jwtService, PasswordEncoder passwordEncoder, ProductService productService,
+			ProductRepository productRepository, ProductCatalogIndex productCatalogIndex, JsonMapper jsonMapper,
+			@Value("${app.warmup.enabled:true}") boolean enabled,
+			@Value("${app.warmup.max-duration:PT30S}") Duration maxDuration,
+			@Value("${app.warmup.round-size:200}") int roundSize,
+			@Value("${app.warmup.tolerance:0.1}") double tolerance) {
+		this.jwtService = jwtService;
+		this.passwordEncoder = passwordEncoder;
+		this.productService = productService;
+		this.productRepository = productRepository;
+		this.productCatalogIndex = productCatalogIndex;
+		this.jsonMapper = jsonMapper;
+		this.enabled = enabled;
+		this.maxDuration = maxDuration;
+		this.roundSize = roundSize;
+		this.tolerance = tolerance;
+	}
+
+	// Null until a warm-up has completed
+	public Report getReport() {
+		return report;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!enabled) {
+			return;
+		}
+		long start = System.nanoTime();
+		long deadline = start + maxDuration.toNanos();
+
+		try {
+			productCatalogIndex.refresh();
+		} catch (RuntimeException e) {
+			// The scheduled refresh retries; serving from the database until then is fine
+			log.warn("Warm-up could not load the catalog index: {}", e.getMessage());
+		}
+		String encoded = passwordEncoder.encode(SAMPLE_PASSWORD);
+		for (int i = 0; i < PASSWORD_HASHES; i++) {
+			passwordEncoder.matches(SAMPLE_PASSWORD, encoded);
+		}
+
+		UserDetails sample = User.withUsername(SAMPLE_USER).password("").authorities("USER", "ADMIN").build();
+		long[] previous = null;
+		long[] current = null;
+		int rounds = 0;
+		int stableRounds = 0;
+		try {
+			do {
+				current = round(sample);
+				rounds++;
+				stableRounds = previous != null && settled(previous, current) ? stableRounds + 1 : 0;
+				previous = current;
+			} while (stableRounds < SETTLED_ROUNDS && System.nanoTime() < deadline);
+		} catch (RuntimeException e) {
+			// A cold node is still better than one that never starts
+			log.warn("Warm-up stopped after {} rounds: {}", rounds, e.getMessage());
+			if (current == null) {
+				return;
+			}
+		}
+
+		report = new Report(Duration.ofNanos(System.nanoTime() - start), rounds, stableRounds >= SETTLED_ROUNDS,
+				current[0] / 1000, current[1] / 1000, current[2] / 1000, current[3] / 1000);
+		log.info("Warm-up {} after {} ms and {} rounds: token issue+verify {} us, product list {} us, "
+				+ "database page {} us, JSON {} us", report.settled() ? "settled" : "stopped early",
+				report.duration().toMillis(), report.rounds(), report.tokenMicros(), report.listMicros(),
+				report.databaseMicros(), report.jsonMicros());
+	}
+
+	// Mean nanoseconds per call for token, product list, database page and JSON serialization
+	private long[] round(UserDetails sample) {
+		Pageable firstPage = PageRequest.of(0, 20, Sort.by("productId"));
+		long token = 0;
+		long list = 0;
+		long database = 0;
+		long json = 0;
+		for (int i = 0; i < roundSize; i++) {
+			long t0 = System.nanoTime();
+			Claims claims = jwtService.verifyAccessToken(jwtService.generateAccessToken(sample));
+			jwtService.extractAuthorities(claims);
+			long t1 = System.nanoTime();
+			ProductResponse products = productService.getAllProducts(0, 20, "productId", "asc");
+			long t2 = System.nanoTime();
+			// Read-only, so it goes to a replica when routing is on, as list fallbacks do
+			productRepository.findAll(firstPage);
+			long t3 = System.nanoTime();
+			jsonMapper.writeValueAsBytes(products);
+			long t4 = System.nanoTime();
+			token += t1 - t0;
+			list += t2 - t1;
+			database += t3 - t2;
+			json += t4 - t3;
+		}
+		return new long[] { token / roundSize, list / roundSize, database / roundSize, json / roundSize };
+	}
+
+	private boolean settled(long[] previous, long[] current) {
+		for (int i = 0; i < current.length; i++) {
+			if (Math.abs(current[i] - previous[i]) > previous[i] * tolerance) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,57 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Brings a database created by the old ddl-auto=update up to what V1 describes. V1 only
+// creates missing tables, so columns added since then are added here; on a fresh database
+// this is a no-op. Java rather than SQL because MySQL has no ADD COLUMN IF NOT EXISTS.
+// It also stops before V2 when user_email holds duplicates the new unique index would reject:
+// which account to keep is a decision for whoever runs the upgrade, not the migration.
+@Slf4j
+@Component
+public class V1_1__Upgrade_pre_flyway_schema extends BaseJavaMigration {
+
+	private static final int REPORTED_DUPLICATES = 20;
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		Connection connection = context.getConnection();
+		try (Statement statement = connection.createStatement()) {
+			if (!hasColumn(connection, "products", "version")) {
+				log.info("Adding products.version to a schema created before migrations");
+				statement.execute("ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0");
+			}
+
+			// Grouped by the column's own collation, so this finds exactly what the index would reject
+			List<String> duplicates = new ArrayList<>();
+			try (ResultSet rows = statement.executeQuery("SELECT user_email FROM users WHERE user_email IS NOT NULL "
+					+ "GROUP BY user_email HAVING COUNT(*) > 1")) {
+				while (rows.next() && duplicates.size() < REPORTED_DUPLICATES) {
+					duplicates.add(rows.getString(1));
+				}
+			}
+			if (!duplicates.isEmpty()) {
+				throw new RuntimeException("users.user_email must be unique before V2 can index it; merge or delete "
+						+ "the duplicate accounts and restart. Duplicated emails (first " + REPORTED_DUPLICATES
+						+ "): " + duplicates);
+			}
+		}
+	}
+
+	private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+		try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+			return columns.next();
+		}
+	}
+}
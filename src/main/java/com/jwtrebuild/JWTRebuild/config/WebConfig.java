@@ -0,0 +1,45 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+	public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+	private final CBORMapper cborMapper;
+	private final JsonMapper jsonMapper;
+
+	public WebConfig(CBORMapper cborMapper, JsonMapper jsonMapper) {
+		this.cborMapper = cborMapper;
+		this.jsonMapper = jsonMapper;
+	}
+
+	@Override
+	public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+		// JSON stays the default; CBOR and Smile are only served when the Accept header asks for them
+		configurer.defaultContentType(MediaType.APPLICATION_JSON).mediaType("json", MediaType.APPLICATION_JSON)
+				.mediaType("cbor", MediaType.APPLICATION_CBOR).mediaType("smile", APPLICATION_SMILE);
+	}
+
+	@Override
+	public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+		// The builder keeps JSON ahead of Smile and CBOR, so "*/*" still resolves to JSON.
+		// Boot configures the CBOR mapper; it has none for Smile, which gets the JSON mapper's modules.
+		builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+				.withSmileConverter(new JacksonSmileHttpMessageConverter(
+						SmileMapper.builder().addModules(jsonMapper.registeredModules()).build()));
+	}
+}
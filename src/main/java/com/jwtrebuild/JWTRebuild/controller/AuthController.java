@@ -1,18 +1,31 @@
 package com.jwtrebuild.JWTRebuild.controller;
 
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.jwtrebuild.JWTRebuild.dto.request.IntrospectionRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.RefreshTokenRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.SignInRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.SignUpRequest;
 import com.jwtrebuild.JWTRebuild.dto.response.AuthResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.IntrospectionResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.MessageResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.SessionResponse;
 import com.jwtrebuild.JWTRebuild.service.AuthService;
+import com.jwtrebuild.JWTRebuild.service.TokenIntrospectionService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,9 +33,12 @@ import lombok.RequiredArgsConstructor;
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
 	private final AuthService authService;
+	private final TokenIntrospectionService tokenIntrospectionService;
+	private final ApplicationAvailability applicationAvailability;
 
 	@PostMapping("/signup")
 	public ResponseEntity<AuthResponse> signUp(@Valid @RequestBody SignUpRequest request) {
@@ -42,14 +58,40 @@ public class AuthController {
 		return ResponseEntity.ok(response);
 	}
 
+	// Gateway endpoint: verifies many access tokens at once without touching the database
+	@PostMapping("/introspect")
+	public ResponseEntity<IntrospectionResponse> introspect(
+			@RequestHeader(name = "X-Introspection-Key", required = false) String introspectionKey,
+			@Valid @RequestBody IntrospectionRequest request) {
+		if (!tokenIntrospectionService.isAuthorizedClient(introspectionKey)) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		return ResponseEntity.ok(tokenIntrospectionService.introspect(request.getTokens()));
+	}
+
 	@GetMapping("/me")
 	public ResponseEntity<AuthResponse.UserInfo> getCurrentUser() {
 		AuthResponse.UserInfo userInfo = authService.getCurrentUser();
 		return ResponseEntity.ok(userInfo);
 	}
 
+	@GetMapping("/sessions")
+	public ResponseEntity<List<SessionResponse>> getSessions() {
+		return ResponseEntity.ok(authService.getCurrentSessions());
+	}
+
+	@DeleteMapping("/sessions/{sessionId}")
+	public ResponseEntity<MessageResponse> revokeSession(@PathVariable String sessionId) {
+		authService.revokeSession(sessionId);
+		return ResponseEntity.ok(MessageResponse.builder().message("Session revoked").build());
+	}
+
 	@GetMapping("/health")
 	public ResponseEntity<String> healthCheck() {
+		// Not ready until the startup warm-up has run, so the load balancer waits for a warm JIT
+		if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Auth service is warming up");
+		}
 		return ResponseEntity.ok("Auth service is running!");
 	}
 }
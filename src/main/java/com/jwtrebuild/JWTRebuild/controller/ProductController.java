@@ -1,28 +1,46 @@
 package com.jwtrebuild.JWTRebuild.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.jwtrebuild.JWTRebuild.config.JwtAuthenticationFilter;
+import com.jwtrebuild.JWTRebuild.dto.request.BulkProductUpdateRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.ProductRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.BulkProductUpdateResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.MessageResponse;
 import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
 import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+import com.jwtrebuild.JWTRebuild.service.ProductChangeFeed;
 import com.jwtrebuild.JWTRebuild.service.ProductService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProductController {
 
 	private final ProductService productService;
+	private final ProductChangeFeed productChangeFeed;
+	private final JWTService jwtService;
 
 	// admin endpoints
 	@PreAuthorize("hasAuthority('ADMIN')")
@@ -45,7 +63,7 @@ public class ProductController {
 	@GetMapping("/api/admin/products/{id}")
 	public ResponseEntity<ProductListResponse> getProductByIdForAdmin(@PathVariable int id) {
 		ProductListResponse response = productService.getProductById(id);
-		return ResponseEntity.ok(response);
+		return withETag(response);
 	}
 
 	@PreAuthorize("hashasAuthority('ADMIN')")
@@ -53,6 +71,14 @@ public class ProductController {
 	public ResponseEntity<ProductListResponse> updateProduct(@PathVariable int id,
 			@Valid @RequestBody ProductRequest request) {
 		ProductListResponse response = productService.updateProduct(id, request);
+		return withETag(response);
+	}
+
+	@PreAuthorize("hasAuthority('ADMIN')")
+	@PostMapping("/api/admin/products/bulk-update")
+	public ResponseEntity<BulkProductUpdateResponse> bulkUpdateProducts(
+			@Valid @RequestBody BulkProductUpdateRequest request) {
+		BulkProductUpdateResponse response = productService.bulkUpdatePrices(request);
 		return ResponseEntity.ok(response);
 	}
 
@@ -70,7 +96,7 @@ public class ProductController {
 	@GetMapping("/api/user/products/{id}")
 	public ResponseEntity<ProductListResponse> getProductByIdForUser(@PathVariable int id) {
 		ProductListResponse response = productService.getProductById(id);
-		return ResponseEntity.ok(response);
+		return withETag(response);
 	}
 
 	// Share endpoints (ADMIN or USER)
@@ -87,6 +113,30 @@ public class ProductController {
 	@GetMapping("/api/share/products/{id}")
 	public ResponseEntity<ProductListResponse> getProductByIdForShare(@PathVariable int id) {
 		ProductListResponse response = productService.getProductById(id);
-		return ResponseEntity.ok(response);
+		return withETag(response);
+	}
+
+	// Streams created/updated/repriced events instead of polling the list; reconnects resume from Last-Event-ID
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
+	@GetMapping(value = "/api/share/products/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> streamProductChanges(
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+			@RequestAttribute(JwtAuthenticationFilter.TOKEN_ATTRIBUTE) String token, Authentication authentication) {
+		// The stream may not outlive the token that authorized it
+		Claims claims = jwtService.verifyAccessToken(token);
+		return productChangeFeed.subscribe(lastEventId, authentication.getName(), jwtService.issuedAtMillis(claims),
+				claims.getExpiration().getTime()).map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+	}
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<MessageResponse> handleConcurrentEdit(OptimisticLockingFailureException e) {
+		return ResponseEntity.status(HttpStatus.CONFLICT)
+				.body(MessageResponse.builder().message("Product was modified by someone else, reload and retry").build());
+	}
+
+	// The version changes on every write, so a matching If-None-Match gets a 304
+	private static ResponseEntity<ProductListResponse> withETag(ProductListResponse response) {
+		return ResponseEntity.ok().eTag("W/\"" + response.getVersion() + "\"").body(response);
 	}
 }
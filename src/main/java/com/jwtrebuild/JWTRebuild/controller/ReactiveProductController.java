@@ -0,0 +1,41 @@
+package com.jwtrebuild.JWTRebuild.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+import com.jwtrebuild.JWTRebuild.service.ReactiveProductService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+// Product reads for edge mode; role checks are the URL rules in ReactiveSecurityConfig
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductController {
+
+	private final ReactiveProductService reactiveProductService;
+
+	@GetMapping({ "/api/admin/products", "/api/user/products", "/api/share/products" })
+	public Mono<ResponseEntity<ProductResponse>> getAllProducts(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "productId") String sortBy,
+			@RequestParam(defaultValue = "asc") String sortDir) {
+		return reactiveProductService.getAllProducts(page, size, sortBy, sortDir).map(ResponseEntity::ok);
+	}
+
+	@GetMapping({ "/api/admin/products/{id}", "/api/user/products/{id}", "/api/share/products/{id}" })
+	public Mono<ResponseEntity<ProductListResponse>> getProductById(@PathVariable int id) {
+		return reactiveProductService.getProductById(id).map(ReactiveProductController::withETag);
+	}
+
+	// The version changes on every write, so a matching If-None-Match gets a 304
+	private static ResponseEntity<ProductListResponse> withETag(ProductListResponse response) {
+		return ResponseEntity.ok().eTag("W/\"" + response.getVersion() + "\"").body(response);
+	}
+}
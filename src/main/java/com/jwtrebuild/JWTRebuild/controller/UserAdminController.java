@@ -0,0 +1,53 @@
+package com.jwtrebuild.JWTRebuild.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jwtrebuild.JWTRebuild.dto.request.BulkSignUpRequest;
+import com.jwtrebuild.JWTRebuild.dto.request.RoleChangeRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.BulkProvisionResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.MessageResponse;
+import com.jwtrebuild.JWTRebuild.service.UserAdminService;
+import com.jwtrebuild.JWTRebuild.service.UserProvisioningService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserAdminController {
+
+	private final UserProvisioningService userProvisioningService;
+	private final UserAdminService userAdminService;
+
+	@PreAuthorize("hasAuthority('ADMIN')")
+	@PostMapping("/bulk")
+	public ResponseEntity<BulkProvisionResponse> provisionUsers(@Valid @RequestBody BulkSignUpRequest request) {
+		BulkProvisionResponse response = userProvisioningService.provision(request.getUsers());
+		return ResponseEntity.ok(response);
+	}
+
+	@PreAuthorize("hasAuthority('ADMIN')")
+	@PostMapping("/{userEmail}/logout")
+	public ResponseEntity<MessageResponse> forceLogout(@PathVariable String userEmail) {
+		userAdminService.forceLogout(userEmail);
+		return ResponseEntity.ok(MessageResponse.builder().message("User logged out on all nodes").build());
+	}
+
+	@PreAuthorize("hasAuthority('ADMIN')")
+	@PutMapping("/{userEmail}/role")
+	public ResponseEntity<MessageResponse> changeRole(@PathVariable String userEmail,
+			@Valid @RequestBody RoleChangeRequest request) {
+		userAdminService.changeRole(userEmail, request.getUserRole());
+		return ResponseEntity.ok(MessageResponse.builder().message("User role updated").build());
+	}
+}
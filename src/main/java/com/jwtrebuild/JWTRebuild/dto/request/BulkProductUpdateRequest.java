@@ -0,0 +1,33 @@
+package com.jwtrebuild.JWTRebuild.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkProductUpdateRequest {
+
+	// Rows are selected by id, or by current price range when no ids are given
+	@Size(max = 500000, message = "At most 500000 products can be listed per request.")
+	private List<Integer> productIds;
+
+	@PositiveOrZero(message = "Minimum price cannot be negative")
+	private Double minPrice;
+
+	@PositiveOrZero(message = "Maximum price cannot be negative")
+	private Double maxPrice;
+
+	// new value = old value * factor + delta
+	@Positive(message = "Price factor must be positive")
+	private double priceFactor = 1;
+
+	private double priceDelta;
+
+	@Positive(message = "Cost factor must be positive")
+	private double costFactor = 1;
+
+	private double costDelta;
+}
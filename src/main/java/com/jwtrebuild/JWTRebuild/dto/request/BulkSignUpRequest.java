@@ -0,0 +1,16 @@
+package com.jwtrebuild.JWTRebuild.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkSignUpRequest {
+
+	// Rows are validated one by one so a bad row does not reject the whole batch
+	@NotEmpty(message = "At least one user is required!")
+	@Size(max = 10000, message = "At most 10000 users can be provisioned per request.")
+	private List<SignUpRequest> users;
+}
@@ -0,0 +1,15 @@
+package com.jwtrebuild.JWTRebuild.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class IntrospectionRequest {
+
+	@NotEmpty(message = "At least one token is required!")
+	@Size(max = 1000, message = "At most 1000 tokens can be introspected per request.")
+	private List<String> tokens;
+}
@@ -26,4 +26,7 @@ public class ProductRequest {
 	@Positive(message = "Cost must be positive")
 	@DecimalMin(value = "0.01", message = "Cost must be at least 0.01")
 	private double productCost;
+
+	// Version the client last read; when set, an edit based on a stale copy is rejected
+	private Long version;
 }
@@ -0,0 +1,11 @@
+package com.jwtrebuild.JWTRebuild.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RoleChangeRequest {
+
+	@NotBlank(message = "Role is required!")
+	private String userRole;
+}
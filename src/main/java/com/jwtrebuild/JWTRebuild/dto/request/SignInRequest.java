@@ -2,6 +2,7 @@ package com.jwtrebuild.JWTRebuild.dto.request;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
@@ -13,4 +14,8 @@ public class SignInRequest {
 
 	@NotBlank(message = "Password is required!")
 	private String userPassword;
+
+	// Identifies the device session; optional
+	@Size(max = 100, message = "Device id cannot exceed 100 charaters.")
+	private String deviceId;
 }
@@ -0,0 +1,11 @@
+package com.jwtrebuild.JWTRebuild.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkProductUpdateResponse {
+
+	private int updated;
+}
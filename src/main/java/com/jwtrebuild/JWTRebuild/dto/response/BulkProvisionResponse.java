@@ -0,0 +1,31 @@
+package com.jwtrebuild.JWTRebuild.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkProvisionResponse {
+
+	private int created;
+	private int rejected;
+	private List<RowResult> results;
+
+	public enum Status {
+		CREATED, DUPLICATE, INVALID
+	}
+
+	@Data
+	@Builder
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class RowResult {
+		private int index;
+		private String userEmail;
+		private Status status;
+		private String message;
+	}
+}
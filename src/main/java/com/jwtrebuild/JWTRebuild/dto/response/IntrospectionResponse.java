@@ -0,0 +1,27 @@
+package com.jwtrebuild.JWTRebuild.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class IntrospectionResponse {
+
+	// Same order as the tokens in the request
+	private List<TokenResult> results;
+
+	@Data
+	@Builder
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class TokenResult {
+		private boolean active;
+		private String subject;
+		private List<String> authorities;
+		private Long expiresAt;
+		private String reason;
+	}
+}
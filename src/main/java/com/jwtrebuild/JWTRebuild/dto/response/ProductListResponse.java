@@ -12,6 +12,7 @@ public class ProductListResponse {
 	private String productDescription;
 	private double productPrice;
 	private double productCost;
+	private long version;
 
 	@Data
 	@Builder
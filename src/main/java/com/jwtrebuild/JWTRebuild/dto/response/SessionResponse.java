@@ -0,0 +1,17 @@
+package com.jwtrebuild.JWTRebuild.dto.response;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SessionResponse {
+
+	private String sessionId;
+	private String deviceId;
+	private Instant createdAt;
+	private Instant lastUsedAt;
+	private Instant expiresAt;
+}
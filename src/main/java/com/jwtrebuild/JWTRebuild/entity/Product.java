@@ -5,6 +5,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Data
@@ -19,5 +20,8 @@ public class Product {
 	private String productDescription;
 	private double productPrice;
 	private double productCost;
+	// Bumped on every write, including bulk updates; doubles as the ETag
+	@Version
+	private long version;
 
 }
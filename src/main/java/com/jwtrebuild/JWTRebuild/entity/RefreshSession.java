@@ -0,0 +1,60 @@
+package com.jwtrebuild.JWTRebuild.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per device session (token family); rotation swaps currentJti in place.
+// Lives in the auth schema, which MySQL (and so Hibernate) addresses as a catalog.
+@Data
+@Entity
+@Builder
+@Table(name = "refresh_sessions", catalog = "auth")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshSession implements Persistable<String> {
+
+	@Id
+	@Column(length = 36)
+	private String familyId;
+	private String userEmail;
+	@Column(length = 100)
+	private String deviceId;
+	@Column(length = 36)
+	private String currentJti;
+	private long createdAt;
+	private long lastUsedAt;
+	private long expiresAt;
+	private boolean revoked;
+
+	// Ids are assigned by the app; without this save() would SELECT before every INSERT
+	@Transient
+	private boolean persisted;
+
+	@Override
+	public String getId() {
+		return familyId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		persisted = true;
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.jwtrebuild.JWTRebuild.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Append-only change log every node tails to invalidate its local view of a user
+@Data
+@Entity
+@Builder
+@Table(name = "session_invalidation_events", catalog = "auth")
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionInvalidationEvent {
+
+	public enum Type {
+		LOGOUT, ROLE_CHANGED, SESSION_REVOKED
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	private String userEmail;
+	@Enumerated(EnumType.STRING)
+	@Column(length = 20)
+	private Type eventType;
+	@Column(length = 36)
+	private String familyId;
+	private long createdAt;
+	@Column(length = 64)
+	private String originNode;
+
+}
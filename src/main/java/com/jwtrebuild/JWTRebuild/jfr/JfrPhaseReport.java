@@ -0,0 +1,178 @@
+package com.jwtrebuild.JWTRebuild.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes a recording into per-phase latency histograms, and counts how many phase events overlapped a GC
+ * pause or a lock wait on the same thread. Uses only the JDK, so it runs straight from source:
+ *
+ * <pre>
+ * java src/main/java/com/jwtrebuild/JWTRebuild/jfr/JfrPhaseReport.java auth.jfr
+ * </pre>
+ */
+public final class JfrPhaseReport {
+
+	private static final String PREFIX = "jwtrebuild.";
+	private static final String[] PHASE_KEYS = { "tokenType", "operation", "query", "source" };
+	private static final int BAR_WIDTH = 40;
+
+	private record Interval(long start, long end) {
+	}
+
+	private record Sample(long start, long end, long threadId) {
+
+		long duration() {
+			return end - start;
+		}
+	}
+
+	private JfrPhaseReport() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("usage: JfrPhaseReport <recording.jfr>");
+			System.exit(2);
+		}
+
+		Map<String, List<Sample>> phases = new TreeMap<>();
+		List<Interval> gcPauses = new ArrayList<>();
+		Map<Long, List<Interval>> lockWaits = new HashMap<>();
+		try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+			while (recording.hasMoreEvents()) {
+				RecordedEvent event = recording.readEvent();
+				String name = event.getEventType().getName();
+				if (name.startsWith(PREFIX)) {
+					phases.computeIfAbsent(phaseOf(event), phase -> new ArrayList<>())
+							.add(new Sample(nanos(event.getStartTime()), nanos(event.getEndTime()), threadId(event)));
+				} else if (name.equals("jdk.GCPhasePause")) {
+					gcPauses.add(interval(event));
+				} else if (name.equals("jdk.JavaMonitorEnter") || name.equals("jdk.ThreadPark")) {
+					lockWaits.computeIfAbsent(threadId(event), thread -> new ArrayList<>()).add(interval(event));
+				}
+			}
+		}
+
+		if (phases.isEmpty()) {
+			System.out.println("No " + PREFIX + "* events found; was the recording started with jfr/jwtrebuild.jfc?");
+			return;
+		}
+		sortByStart(gcPauses);
+		lockWaits.values().forEach(JfrPhaseReport::sortByStart);
+
+		for (Map.Entry<String, List<Sample>> phase : phases.entrySet()) {
+			List<Sample> samples = phase.getValue();
+			long[] durations = samples.stream().mapToLong(Sample::duration).sorted().toArray();
+			long duringGc = samples.stream().filter(sample -> overlaps(gcPauses, sample)).count();
+			long duringLockWait = samples.stream()
+					.filter(sample -> overlaps(lockWaits.getOrDefault(sample.threadId(), List.of()), sample)).count();
+
+			System.out.printf(Locale.ROOT, "%s  count=%d  p50=%s  p90=%s  p99=%s  max=%s  gc-overlap=%d  lock-overlap=%d%n",
+					phase.getKey(), durations.length, format(percentile(durations, 50)),
+					format(percentile(durations, 90)), format(percentile(durations, 99)),
+					format(durations[durations.length - 1]), duringGc, duringLockWait);
+			printHistogram(durations);
+			System.out.println();
+		}
+	}
+
+	// e.g. TokenVerification[access/valid]
+	private static String phaseOf(RecordedEvent event) {
+		String phase = event.getEventType().getName().substring(PREFIX.length());
+		for (String key : PHASE_KEYS) {
+			if (event.hasField(key)) {
+				phase += "[" + event.getValue(key) + "/" + (event.hasField("outcome") ? event.getValue("outcome") : "-")
+						+ "]";
+				break;
+			}
+		}
+		return phase;
+	}
+
+	// Power-of-two microsecond buckets, printed from the fastest to the slowest non-empty one
+	private static void printHistogram(long[] durations) {
+		int[] buckets = new int[64];
+		for (long duration : durations) {
+			buckets[bucketOf(duration)]++;
+		}
+		int first = bucketOf(durations[0]);
+		int last = bucketOf(durations[durations.length - 1]);
+		int peak = 0;
+		for (int i = first; i <= last; i++) {
+			peak = Math.max(peak, buckets[i]);
+		}
+		for (int i = first; i <= last; i++) {
+			int width = (int) Math.ceil((double) buckets[i] * BAR_WIDTH / peak);
+			System.out.printf(Locale.ROOT, "  %10s - %-10s %8d %s%n", i == 0 ? "0" : format((1L << i) * 1000),
+					format((1L << (i + 1)) * 1000), buckets[i], "#".repeat(width));
+		}
+	}
+
+	private static int bucketOf(long durationNanos) {
+		long micros = durationNanos / 1000;
+		return micros < 2 ? 0 : 63 - Long.numberOfLeadingZeros(micros);
+	}
+
+	private static long percentile(long[] sorted, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, index)];
+	}
+
+	// Intervals are sorted and do not overlap each other, so only the last one starting
+	// before the sample ends can overlap it
+	private static boolean overlaps(List<Interval> intervals, Sample sample) {
+		int low = 0;
+		int high = intervals.size() - 1;
+		int candidate = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (intervals.get(mid).start() < sample.end()) {
+				candidate = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return candidate >= 0 && intervals.get(candidate).end() > sample.start();
+	}
+
+	private static void sortByStart(List<Interval> intervals) {
+		intervals.sort(Comparator.comparingLong(Interval::start));
+	}
+
+	private static Interval interval(RecordedEvent event) {
+		return new Interval(nanos(event.getStartTime()), nanos(event.getEndTime()));
+	}
+
+	private static long threadId(RecordedEvent event) {
+		RecordedThread thread = event.getThread();
+		return thread == null ? -1 : thread.getJavaThreadId();
+	}
+
+	private static long nanos(Instant instant) {
+		return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+	}
+
+	private static String format(long nanos) {
+		if (nanos < 1_000_000) {
+			return String.format(Locale.ROOT, "%dus", nanos / 1000);
+		}
+		if (nanos < 1_000_000_000) {
+			return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+		}
+		return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+	}
+}
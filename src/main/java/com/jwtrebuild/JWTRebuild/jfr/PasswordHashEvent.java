@@ -0,0 +1,34 @@
+package com.jwtrebuild.JWTRebuild.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jwtrebuild.PasswordHash")
+@Label("Password Hash")
+@Description("One bcrypt encode or match")
+@Category({ "JWTRebuild", "Auth" })
+@StackTrace(false)
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+	@Label("Operation")
+	private String operation;
+
+	@Label("Outcome")
+	private String outcome;
+
+	@Label("Strength")
+	private int strength;
+
+	public void finish(String operation, String outcome, int strength) {
+		end();
+		if (shouldCommit()) {
+			this.operation = operation;
+			this.outcome = outcome;
+			this.strength = strength;
+			commit();
+		}
+	}
+}
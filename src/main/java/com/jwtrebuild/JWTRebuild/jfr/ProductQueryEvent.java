@@ -0,0 +1,34 @@
+package com.jwtrebuild.JWTRebuild.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jwtrebuild.ProductQuery")
+@Label("Product Query")
+@Description("One product read or bulk update")
+@Category({ "JWTRebuild", "Catalog" })
+@StackTrace(false)
+public class ProductQueryEvent extends jdk.jfr.Event {
+
+	@Label("Query")
+	private String query;
+
+	@Label("Outcome")
+	private String outcome;
+
+	@Label("Rows")
+	private long rows;
+
+	public void finish(String query, String outcome, long rows) {
+		end();
+		if (shouldCommit()) {
+			this.query = query;
+			this.outcome = outcome;
+			this.rows = rows;
+			commit();
+		}
+	}
+}
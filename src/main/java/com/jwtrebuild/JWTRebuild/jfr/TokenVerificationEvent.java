@@ -0,0 +1,50 @@
+package com.jwtrebuild.JWTRebuild.jfr;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jwtrebuild.TokenVerification")
+@Label("Token Verification")
+@Description("Signature and claims check of one JWT")
+@Category({ "JWTRebuild", "Auth" })
+@StackTrace(false)
+public class TokenVerificationEvent extends jdk.jfr.Event {
+
+	@Label("Token Type")
+	private String tokenType;
+
+	@Label("Outcome")
+	private String outcome;
+
+	public void finish(String tokenType, Throwable failure) {
+		end();
+		// Fields are only filled in when a recording wants the event
+		if (shouldCommit()) {
+			this.tokenType = tokenType;
+			this.outcome = outcomeOf(failure);
+			commit();
+		}
+	}
+
+	private static String outcomeOf(Throwable failure) {
+		if (failure == null) {
+			return "valid";
+		}
+		if (failure instanceof ExpiredJwtException) {
+			return "expired";
+		}
+		if (failure instanceof SignatureException) {
+			return "invalid_signature";
+		}
+		if (failure instanceof MalformedJwtException) {
+			return "malformed";
+		}
+		return "invalid";
+	}
+}
@@ -0,0 +1,31 @@
+package com.jwtrebuild.JWTRebuild.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("jwtrebuild.UserLoad")
+@Label("User Load")
+@Description("Lookup of a user by email for authentication")
+@Category({ "JWTRebuild", "Auth" })
+@StackTrace(false)
+public class UserLoadEvent extends jdk.jfr.Event {
+
+	@Label("Source")
+	@Description("primary when pinned for read-your-writes, otherwise routed (replica when enabled)")
+	private String source;
+
+	@Label("Outcome")
+	private String outcome;
+
+	public void finish(boolean pinnedToPrimary, String outcome) {
+		end();
+		if (shouldCommit()) {
+			this.source = pinnedToPrimary ? "primary" : "routed";
+			this.outcome = outcome;
+			commit();
+		}
+	}
+}
@@ -1,9 +1,48 @@
 package com.jwtrebuild.JWTRebuild.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.jwtrebuild.JWTRebuild.entity.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 
+	// One-row counter bumped in every writing transaction (see V4__catalog_revision.sql). The
+	// row lock orders concurrent writers, so revisions follow commit order
+	@Modifying
+	@Query(value = "UPDATE catalog_revision SET revision = revision + 1 WHERE id = 1", nativeQuery = true)
+	int bumpCatalogRevision();
+
+	@Query(value = "SELECT revision FROM catalog_revision WHERE id = 1", nativeQuery = true)
+	long catalogRevision();
+
+	// Keyset chunks for loading the whole catalog without one huge persistence context
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(int productId, Limit limit);
+
+	// Set-based repricing: rows that would drop below the minimum price or cost are left alone
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Product p set p.productPrice = p.productPrice * :priceFactor + :priceDelta, "
+			+ "p.productCost = p.productCost * :costFactor + :costDelta, p.version = p.version + 1 "
+			+ "where p.productId in :ids and p.productPrice * :priceFactor + :priceDelta >= 0.01 "
+			+ "and p.productCost * :costFactor + :costDelta >= 0.01")
+	int adjustPricesByIds(@Param("ids") Collection<Integer> productIds, @Param("priceFactor") double priceFactor,
+			@Param("priceDelta") double priceDelta, @Param("costFactor") double costFactor,
+			@Param("costDelta") double costDelta);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Product p set p.productPrice = p.productPrice * :priceFactor + :priceDelta, "
+			+ "p.productCost = p.productCost * :costFactor + :costDelta, p.version = p.version + 1 "
+			+ "where p.productPrice between :minPrice and :maxPrice "
+			+ "and p.productPrice * :priceFactor + :priceDelta >= 0.01 "
+			+ "and p.productCost * :costFactor + :costDelta >= 0.01")
+	int adjustPricesInRange(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice,
+			@Param("priceFactor") double priceFactor, @Param("priceDelta") double priceDelta,
+			@Param("costFactor") double costFactor, @Param("costDelta") double costDelta);
 }
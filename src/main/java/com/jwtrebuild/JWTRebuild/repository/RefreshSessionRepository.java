@@ -0,0 +1,41 @@
+package com.jwtrebuild.JWTRebuild.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jwtrebuild.JWTRebuild.entity.RefreshSession;
+
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, String> {
+
+	List<RefreshSession> findByUserEmailAndRevokedFalseAndExpiresAtGreaterThan(String userEmail, long now);
+
+	// Compare-and-set on the primary key: only the holder of the current token can rotate it
+	@Transactional
+	@Modifying
+	@Query("update RefreshSession s set s.currentJti = :newJti, s.lastUsedAt = :now, s.expiresAt = :expiresAt "
+			+ "where s.familyId = :familyId and s.currentJti = :currentJti and s.userEmail = :userEmail "
+			+ "and s.revoked = false and s.expiresAt > :now")
+	int rotate(@Param("familyId") String familyId, @Param("userEmail") String userEmail,
+			@Param("currentJti") String currentJti, @Param("newJti") String newJti, @Param("now") long now,
+			@Param("expiresAt") long expiresAt);
+
+	@Transactional
+	@Modifying
+	@Query("update RefreshSession s set s.revoked = true where s.familyId = :familyId")
+	int revokeFamily(@Param("familyId") String familyId);
+
+	@Transactional
+	@Modifying
+	@Query("update RefreshSession s set s.revoked = true where s.userEmail = :userEmail and s.revoked = false")
+	int revokeAllForUser(@Param("userEmail") String userEmail);
+
+	@Transactional
+	@Modifying
+	@Query("delete from RefreshSession s where s.expiresAt < :cutoff")
+	int deleteExpiredBefore(@Param("cutoff") long cutoff);
+}
@@ -0,0 +1,24 @@
+package com.jwtrebuild.JWTRebuild.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jwtrebuild.JWTRebuild.entity.SessionInvalidationEvent;
+
+public interface SessionInvalidationEventRepository extends JpaRepository<SessionInvalidationEvent, Long> {
+
+	@Query("select e from SessionInvalidationEvent e where e.id > :afterId and e.createdAt >= :since order by e.id")
+	List<SessionInvalidationEvent> findBatch(@Param("afterId") long afterId, @Param("since") long since,
+			Pageable pageable);
+
+	@Transactional
+	@Modifying
+	@Query("delete from SessionInvalidationEvent e where e.createdAt < :cutoff")
+	int deleteOlderThan(@Param("cutoff") long cutoff);
+}
@@ -1,8 +1,13 @@
 package com.jwtrebuild.JWTRebuild.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.jwtrebuild.JWTRebuild.entity.User;
 
@@ -10,4 +15,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	Optional<User> findByUserEmail(String userEmail);
 
 	boolean existsByUserEmail(String userEmail);
+
+	// Compares the bare column so ux_users_user_email is used; MySQL's case-insensitive default
+	// collation matches emails stored in any case. Rows it misses still fail on the unique index
+	@Query("select u.userEmail from User u where u.userEmail in :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@Modifying
+	@Query("update User u set u.userPassword = :password where u.userEmail = :email")
+	int updatePassword(@Param("email") String userEmail, @Param("password") String encodedPassword);
+
+	@Modifying
+	@Query("update User u set u.userRole = :role where u.userEmail = :email")
+	int updateRole(@Param("email") String userEmail, @Param("role") String userRole);
 }
@@ -1,20 +1,28 @@
 package com.jwtrebuild.JWTRebuild.service;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.jwtrebuild.JWTRebuild.config.ReadYourWritesTracker;
 import com.jwtrebuild.JWTRebuild.dto.request.RefreshTokenRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.SignInRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.SignUpRequest;
 import com.jwtrebuild.JWTRebuild.dto.response.AuthResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.SessionResponse;
 import com.jwtrebuild.JWTRebuild.entity.User;
 import com.jwtrebuild.JWTRebuild.repository.UserRepository;
 
-import jakarta.transaction.Transactional;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -25,16 +33,14 @@ public class AuthService {
 	private final JWTService jwtService;
 	private final PasswordEncoder passwordEncoder;
 	private final AuthenticationManager authenticationManager;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final RefreshTokenService refreshTokenService;
 
 	private static final String DEFAULT_USER_ROLE = "USER";
+	private static final String DEFAULT_DEVICE_ID = "web-browser";
 
 	@Transactional
 	public AuthResponse signUp(SignUpRequest request) {
-		// Check if user already exists
-		if (userRepository.existsByUserEmail(request.getUserEmail())) {
-			throw new RuntimeException("User with this email already exists");
-		}
-
 		// Determine role - use request value or default
 		String userRole = (request.getUserRole() != null && !request.getUserRole().isBlank()) ? request.getUserRole()
 				: DEFAULT_USER_ROLE;
@@ -45,12 +51,19 @@ public class AuthService {
 				.userRole(userRole) // Use determined role
 				.build();
 
-		User savedUser = userRepository.save(user);
+		// The unique index on user_email rejects duplicates without a separate lookup
+		User savedUser;
+		try {
+			savedUser = userRepository.save(user);
+		} catch (DataIntegrityViolationException e) {
+			throw new RuntimeException("User with this email already exists");
+		}
+		// The new user's first requests must see this row even if replicas lag
+		readYourWritesTracker.recordWrite(savedUser.getUserEmail());
 
 		// Generate tokens
 		String accessToken = jwtService.generateAccessToken(savedUser);
-		String deviceId = "web-browser";
-		String refreshToken = jwtService.generateRefreshToken(savedUser, deviceId);
+		String refreshToken = refreshTokenService.issue(savedUser, DEFAULT_DEVICE_ID);
 
 		AuthResponse.UserInfo userInfo = AuthResponse.UserInfo.builder().userId(savedUser.getUserId())
 				.userFullName(savedUser.getUserFullName()).userEmail(savedUser.getUserEmail())
@@ -62,18 +75,22 @@ public class AuthService {
 	}
 
 	public AuthResponse signIn(SignInRequest request) {
-		// Authenticate user credentials
-		Authentication authentication = authenticationManager.authenticate(
-				new UsernamePasswordAuthenticationToken(request.getUserEmail(), request.getUserPassword()));
+		// Sign-in usually follows a sign-up or password change, so read from the primary
+		User user = readYourWritesTracker.onPrimary(() -> {
+			// Authenticate user credentials
+			authenticationManager.authenticate(
+					new UsernamePasswordAuthenticationToken(request.getUserEmail(), request.getUserPassword()));
 
-		// Find user details
-		User user = userRepository.findByUserEmail(request.getUserEmail())
-				.orElseThrow(() -> new RuntimeException("User not found"));
+			// Find user details
+			return userRepository.findByUserEmail(request.getUserEmail())
+					.orElseThrow(() -> new RuntimeException("User not found"));
+		});
 
 		// Generate tokens
 		String accessToken = jwtService.generateAccessToken(user);
-		String deviceId = "web-browser";
-		String refreshToken = jwtService.generateRefreshToken(user, deviceId);
+		String deviceId = (request.getDeviceId() != null && !request.getDeviceId().isBlank()) ? request.getDeviceId()
+				: DEFAULT_DEVICE_ID;
+		String refreshToken = refreshTokenService.issue(user, deviceId);
 
 		AuthResponse.UserInfo userInfo = AuthResponse.UserInfo.builder().userId(user.getUserId())
 				.userFullName(user.getUserFullName()).userEmail(user.getUserEmail()).userRole(user.getUserRole())
@@ -85,18 +102,21 @@ public class AuthService {
 
 	public AuthResponse refreshToken(RefreshTokenRequest request) {
 		String refreshToken = request.getRefreshToken();
-		String userEmail = jwtService.extractUsername(refreshToken, true)
-				.orElseThrow(() -> new RuntimeException("Invalid token"));
 
-		// Find user
-		User user = userRepository.findByUserEmail(userEmail).orElseThrow(() -> new RuntimeException("User not found"));
-
-		// Validate refresh token
-		if (!jwtService.isTokenValid(refreshToken, user, true)) {
+		// Verify signature, issuer, expiry and type once; everything below works from these claims
+		Claims claims;
+		try {
+			claims = jwtService.verifyRefreshToken(refreshToken);
+		} catch (JwtException | IllegalArgumentException e) {
 			throw new RuntimeException("Invalid refresh token");
 		}
 
-		// Generate new access token (keep same refresh token)
+		// The refresh token carries no role, so the new access token needs the current user row
+		User user = userRepository.findByUserEmail(claims.getSubject())
+				.orElseThrow(() -> new RuntimeException("User not found"));
+
+		// Rotate the refresh token and generate a new access token
+		String newRefreshToken = refreshTokenService.rotate(refreshToken, claims, user);
 		String newAccessToken = jwtService.generateAccessToken(user);
 
 		// Create UserInfo (not UserResponse)
@@ -106,10 +126,36 @@ public class AuthService {
 
 		// Return response
 		return AuthResponse.builder().token(newAccessToken) // Use "token" not "accessToken"
-				.refreshToken(refreshToken).tokenType("Bearer").expiredTime("24h").user(userInfo).build();
+				.refreshToken(newRefreshToken).tokenType("Bearer").expiredTime("24h").user(userInfo).build();
 	}
 
+	@Transactional(readOnly = true)
 	public AuthResponse.UserInfo getCurrentUser() {
+		String userEmail = currentUserEmail();
+
+		User user = userRepository.findByUserEmail(userEmail).orElseThrow(() -> new RuntimeException("User not found"));
+
+		// Return UserInfo (nested class in AuthResponse)
+		return AuthResponse.UserInfo.builder().userId(user.getUserId()).userFullName(user.getUserFullName())
+				.userEmail(user.getUserEmail()).userRole(user.getUserRole()).build();
+	}
+
+	public List<SessionResponse> getCurrentSessions() {
+		return refreshTokenService.activeSessions(currentUserEmail()).stream()
+				.map(session -> SessionResponse.builder().sessionId(session.getFamilyId())
+						.deviceId(session.getDeviceId()).createdAt(Instant.ofEpochMilli(session.getCreatedAt()))
+						.lastUsedAt(Instant.ofEpochMilli(session.getLastUsedAt()))
+						.expiresAt(Instant.ofEpochMilli(session.getExpiresAt())).build())
+				.toList();
+	}
+
+	public void revokeSession(String sessionId) {
+		if (!refreshTokenService.revokeSession(currentUserEmail(), sessionId)) {
+			throw new RuntimeException("Session not found");
+		}
+	}
+
+	private String currentUserEmail() {
 		// Extract authentication from SecurityContext
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -117,12 +163,6 @@ public class AuthService {
 			throw new RuntimeException("No authenticated user found");
 		}
 
-		String userEmail = authentication.getName();
-
-		User user = userRepository.findByUserEmail(userEmail).orElseThrow(() -> new RuntimeException("User not found"));
-
-		// Return UserInfo (nested class in AuthResponse)
-		return AuthResponse.UserInfo.builder().userId(user.getUserId()).userFullName(user.getUserFullName())
-				.userEmail(user.getUserEmail()).userRole(user.getUserRole()).build();
+		return authentication.getName();
 	}
 }
@@ -1,31 +1,68 @@
 package com.jwtrebuild.JWTRebuild.service;
 
+import java.util.Optional;
+
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.jwtrebuild.JWTRebuild.config.ReadYourWritesTracker;
+import com.jwtrebuild.JWTRebuild.jfr.UserLoadEvent;
 import com.jwtrebuild.JWTRebuild.repository.UserRepository;
 
 @Service
-public class CustomUserDetailService implements UserDetailsService {
+public class CustomUserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
 	private final UserRepository userRepository;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final SingleFlight<String, Optional<com.jwtrebuild.JWTRebuild.entity.User>> userLookups;
 
 	// constructor to allow injection the repository
-	public CustomUserDetailService(UserRepository userRepository) {
+	public CustomUserDetailService(UserRepository userRepository, ReadYourWritesTracker readYourWritesTracker,
+			SingleFlight<String, Optional<com.jwtrebuild.JWTRebuild.entity.User>> userLookups) {
 		this.userRepository = userRepository;
+		this.readYourWritesTracker = readYourWritesTracker;
+		this.userLookups = userLookups;
 	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		com.jwtrebuild.JWTRebuild.entity.User user = userRepository.findByUserEmail(username)
+		UserLoadEvent event = new UserLoadEvent();
+		event.begin();
+		// Users that just signed up or were changed are read from the primary, as is everything
+		// on a thread already pinned there (sign-in authenticates inside onPrimary)
+		boolean pinnedToPrimary = readYourWritesTracker.hasRecentWrite(username)
+				|| readYourWritesTracker.requiresPrimary();
+		Optional<com.jwtrebuild.JWTRebuild.entity.User> found;
+		String outcome = "error";
+		try {
+			// Pinned reads never join a replica lookup that may predate the write
+			found = pinnedToPrimary ? readYourWritesTracker.onPrimary(() -> userRepository.findByUserEmail(username))
+					: userLookups.execute(username, () -> userRepository.findByUserEmail(username));
+			outcome = found.isPresent() ? "found" : "not_found";
+		} finally {
+			event.finish(pinnedToPrimary, outcome);
+		}
+		com.jwtrebuild.JWTRebuild.entity.User user = found
 				.orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
 
-		// Convert User entity to Spring Security's UserDetails
+		// Convert User entity to Spring Security's UserDetails; each caller gets its own,
+		// since sign-in erases the credentials of the instance it authenticated
 		return org.springframework.security.core.userdetails.User.withUsername(user.getUserEmail())
 				.password(user.getUserPassword()).authorities(user.getUserRole()).accountExpired(false)
 				.accountLocked(false).credentialsExpired(false).disabled(false).build();
 	}
 
+	// Called by DaoAuthenticationProvider after a successful sign-in whose hash needs upgrading
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		userRepository.updatePassword(user.getUsername(), newPassword);
+		readYourWritesTracker.recordWrite(user.getUsername());
+		return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+	}
+
 }
@@ -1,9 +1,11 @@
 package com.jwtrebuild.JWTRebuild.service;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -15,9 +17,14 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.jwtrebuild.JWTRebuild.jfr.TokenVerificationEvent;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,9 +32,22 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class JWTService {
 
+	// Compact profile: numeric issuer id, type code and role bitmask under one-letter names
+	private static final String COMPACT_ISSUER = "i";
+	private static final String COMPACT_TYPE = "t";
+	private static final String COMPACT_ROLES = "r";
+	private static final int TYPE_ACCESS = 1;
+	private static final int TYPE_REFRESH = 2;
+	// Milliseconds within the iat second, which JWT itself rounds away; revocation compares to the ms
+	private static final String ISSUED_AT_MILLIS = "iat_ms";
+	private static final String COMPACT_ISSUED_AT_MILLIS = "m";
+
 	private final SecretKey accessTokenKey;
 	private final SecretKey refreshTokenKey;
 	private final String issuer;
+	// Parsers are immutable and thread-safe, so build them once
+	private final JwtParser accessTokenParser;
+	private final JwtParser refreshTokenParser;
 
 	@Value("${jwt.access-token.expiration:900000}") // 15 minutes
 	private long accessTokenExpiration;
@@ -35,12 +55,25 @@ public class JWTService {
 	@Value("${jwt.refresh-token.expiration:604800000}") // 7 days
 	private long refreshTokenExpiration;
 
+	@Value("${jwt.access-token.format:standard}")
+	private String accessTokenFormat;
+
+	@Value("${jwt.issuer-id:1}")
+	private int issuerId;
+
+	// Bit n of the compact role mask is the n-th entry
+	@Value("${jwt.compact.roles:USER,ADMIN}")
+	private String[] compactRoles;
+
 	public JWTService(@Value("${jwt.access-token.secret}") String accessTokenSecret,
 			@Value("${jwt.refresh-token.secret}") String refreshTokenSecret,
 			@Value("${jwt.issuer:narin-company}") String issuer) {
 		this.accessTokenKey = Keys.hmacShaKeyFor(accessTokenSecret.getBytes(StandardCharsets.UTF_8));
 		this.refreshTokenKey = Keys.hmacShaKeyFor(refreshTokenSecret.getBytes(StandardCharsets.UTF_8));
 		this.issuer = issuer;
+		// The issuer is checked after parsing, since compact tokens carry an issuer id instead
+		this.accessTokenParser = Jwts.parser().verifyWith(accessTokenKey).build();
+		this.refreshTokenParser = Jwts.parser().verifyWith(refreshTokenKey).build();
 
 		validateKeyLength(accessTokenSecret, "Access token");
 		validateKeyLength(refreshTokenSecret, "Refresh token");
@@ -54,24 +87,42 @@ public class JWTService {
 	}
 
 	public String generateAccessToken(UserDetails userDetails) {
+		List<String> authorities = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
 		Map<String, Object> claims = new HashMap<>();
-		claims.put("authorities", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		long now = System.currentTimeMillis();
+		Long roleMask = "compact".equals(accessTokenFormat) ? encodeRoles(authorities) : null;
+		if (roleMask != null) {
+			claims.put(COMPACT_TYPE, TYPE_ACCESS);
+			claims.put(COMPACT_ROLES, roleMask);
+			claims.put(COMPACT_ISSUER, issuerId);
+			claims.put(COMPACT_ISSUED_AT_MILLIS, now % 1000);
+			return buildToken(claims, userDetails.getUsername(), null, now, accessTokenExpiration, accessTokenKey);
+		}
+		// Standard format, also used when a role is missing from the compact registry
+		claims.put("authorities", authorities);
 		claims.put("token_type", "access");
-		return buildToken(claims, userDetails.getUsername(), accessTokenExpiration, accessTokenKey);
+		claims.put(ISSUED_AT_MILLIS, now % 1000);
+		return buildToken(claims, userDetails.getUsername(), issuer, now, accessTokenExpiration, accessTokenKey);
 	}
 
-	public String generateRefreshToken(UserDetails userDetails, String deviceId) {
+	public String generateRefreshToken(UserDetails userDetails, String deviceId, String familyId, String tokenId) {
 		Map<String, Object> claims = new HashMap<>();
 		claims.put("token_type", "refresh");
 		claims.put("device_id", deviceId);
-		return buildToken(claims, userDetails.getUsername(), refreshTokenExpiration, refreshTokenKey);
+		claims.put("fid", familyId);
+		claims.put(Claims.ID, tokenId);
+		return buildToken(claims, userDetails.getUsername(), issuer, System.currentTimeMillis(),
+				refreshTokenExpiration, refreshTokenKey);
+	}
+
+	public long getRefreshTokenExpiration() {
+		return refreshTokenExpiration;
 	}
 
-	private String buildToken(Map<String, Object> claims, String subject, long expiration, SecretKey signingKey) {
-		return Jwts.builder().claims(claims).subject(subject).issuer(issuer)
-				.issuedAt(new Date(System.currentTimeMillis()))
-				.expiration(new Date(System.currentTimeMillis() + expiration)).signWith(signingKey, Jwts.SIG.HS256)
-				.compact();
+	private String buildToken(Map<String, Object> claims, String subject, String tokenIssuer, long now,
+			long expiration, SecretKey signingKey) {
+		return Jwts.builder().claims(claims).subject(subject).issuer(tokenIssuer).issuedAt(new Date(now))
+				.expiration(new Date(now + expiration)).signWith(signingKey, Jwts.SIG.HS256).compact();
 	}
 
 	public Optional<String> extractUsername(String token, boolean isRefreshToken) {
@@ -97,14 +148,14 @@ public class JWTService {
 			Claims claims = extractAllClaims(token, isRefreshToken);
 
 			// validate token type
-			String tokeType = claims.get("token_type", String.class);
+			String tokeType = tokenType(claims);
 			if (isRefreshToken && !"refresh".equals(tokeType))
 				return false;
 			if (!isRefreshToken && !"access".equals(tokeType))
 				return false;
 
 			// validate issuer
-			if (!issuer.equals(claims.getIssuer()))
+			if (!isTrustedIssuer(claims))
 				return false;
 
 			return username.equals(userDetails.getUsername()) && !isTokenExpired(token, isRefreshToken);
@@ -120,9 +171,107 @@ public class JWTService {
 	}
 
 	private Claims extractAllClaims(String token, boolean isRefreshToken) {
-		JwtParser parser = Jwts.parser().verifyWith(isRefreshToken ? refreshTokenKey : accessTokenKey)
-				.requireIssuer(issuer).build();
-		return parser.parseSignedClaims(token).getPayload();
+		JwtParser parser = isRefreshToken ? refreshTokenParser : accessTokenParser;
+		TokenVerificationEvent event = new TokenVerificationEvent();
+		event.begin();
+		RuntimeException failure = null;
+		try {
+			Jws<Claims> jws = parser.parseSignedClaims(token);
+			Claims claims = jws.getPayload();
+			if (!isTrustedIssuer(claims)) {
+				throw new IncorrectClaimException(jws.getHeader(), claims, Claims.ISSUER, claims.getIssuer(),
+						"Token was not issued by " + issuer);
+			}
+			return claims;
+		} catch (RuntimeException e) {
+			failure = e;
+			throw e;
+		} finally {
+			event.finish(isRefreshToken ? "refresh" : "access", failure);
+		}
+	}
+
+	// Verifies signature, issuer, expiry and type of an access token without any user lookup
+	public Claims verifyAccessToken(String token) {
+		Claims claims = extractAllClaims(token, false);
+		if (!"access".equals(tokenType(claims))) {
+			throw new MalformedJwtException("Not an access token");
+		}
+		return claims;
+	}
+
+	public Claims verifyRefreshToken(String token) {
+		Claims claims = extractAllClaims(token, true);
+		if (!"refresh".equals(tokenType(claims))) {
+			throw new MalformedJwtException("Not a refresh token");
+		}
+		return claims;
+	}
+
+	// Null without iat. Tokens issued before the millisecond claim count from the start of their
+	// iat second, so a revocation later in that second still covers them
+	public Long issuedAtMillis(Claims claims) {
+		Date issuedAt = claims.getIssuedAt();
+		if (issuedAt == null) {
+			return null;
+		}
+		Object millis = claims.containsKey(COMPACT_ISSUED_AT_MILLIS) ? claims.get(COMPACT_ISSUED_AT_MILLIS)
+				: claims.get(ISSUED_AT_MILLIS);
+		return issuedAt.getTime() + (millis instanceof Number number ? Math.floorMod(number.longValue(), 1000) : 0);
+	}
+
+	public List<String> extractAuthorities(Claims claims) {
+		if (claims.get(COMPACT_ROLES) instanceof Number roleMask) {
+			return decodeRoles(roleMask.longValue());
+		}
+		List<?> authorities = claims.get("authorities", List.class);
+		return authorities == null ? List.of() : authorities.stream().map(String::valueOf).toList();
+	}
+
+	// Both formats are accepted, so nodes can switch jwt.access-token.format one at a time
+	private boolean isTrustedIssuer(Claims claims) {
+		if (claims.getIssuer() != null) {
+			return issuer.equals(claims.getIssuer());
+		}
+		return claims.get(COMPACT_ISSUER) instanceof Number id && id.intValue() == issuerId;
+	}
+
+	private static String tokenType(Claims claims) {
+		if (claims.get(COMPACT_TYPE) instanceof Number code) {
+			return switch (code.intValue()) {
+			case TYPE_ACCESS -> "access";
+			case TYPE_REFRESH -> "refresh";
+			default -> null;
+			};
+		}
+		return claims.get("token_type", String.class);
+	}
+
+	// Null when an authority has no bit in the registry
+	private Long encodeRoles(List<String> authorities) {
+		if (compactRoles == null) {
+			return null;
+		}
+		long mask = 0;
+		for (String authority : authorities) {
+			int bit = List.of(compactRoles).indexOf(authority);
+			if (bit < 0 || bit >= Long.SIZE - 1) {
+				return null;
+			}
+			mask |= 1L << bit;
+		}
+		return mask;
+	}
+
+	// Bits beyond this node's registry are dropped rather than guessed
+	private List<String> decodeRoles(long mask) {
+		List<String> roles = new ArrayList<>();
+		for (int bit = 0; compactRoles != null && bit < compactRoles.length && bit < Long.SIZE - 1; bit++) {
+			if ((mask & (1L << bit)) != 0) {
+				roles.add(compactRoles[bit]);
+			}
+		}
+		return roles;
 	}
 
 	public boolean validateTokenStructure(String token) {
@@ -0,0 +1,13 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.List;
+
+// Published inside the writing transaction, so listeners should wait for the commit.
+// productIds is null when the rows were selected by a rule rather than by id; revision is
+// the catalog revision the write moved to.
+public record ProductCatalogChangedEvent(List<Integer> productIds, long revision) {
+
+	public boolean affectsAll() {
+		return productIds == null;
+	}
+}
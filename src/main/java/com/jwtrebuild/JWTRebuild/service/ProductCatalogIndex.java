@@ -0,0 +1,325 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jwtrebuild.JWTRebuild.config.ReadYourWritesTracker;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process copy of the product list, held as one immutable array per sort key. Readers
+ * slice the current snapshot without locking; writers build a new snapshot and swap it in.
+ * Local writes are applied right after they commit. Writes made on other nodes are picked up
+ * by polling the catalog revision, a one-row counter every write bumps, which a read replica
+ * can answer. Revisions this node did not write are announced as a RemoteProductChangeEvent.
+ */
+@Slf4j
+@Service
+public class ProductCatalogIndex {
+
+	private static final int LOAD_CHUNK_SIZE = 5000;
+	// Name order follows MySQL's default case-insensitive collation; ties break on id like the DB queries
+	private static final Map<String, Comparator<ProductResponse.ProductSummary>> ORDERINGS = Map.of("productId",
+			Comparator.comparingInt(ProductResponse.ProductSummary::getProductId), "productName",
+			Comparator.comparing(ProductResponse.ProductSummary::getProductName,
+					Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+					.thenComparingInt(ProductResponse.ProductSummary::getProductId),
+			"productPrice",
+			Comparator.comparingDouble(ProductResponse.ProductSummary::getProductPrice)
+					.thenComparingInt(ProductResponse.ProductSummary::getProductId),
+			"productCost", Comparator.comparingDouble(ProductResponse.ProductSummary::getProductCost)
+					.thenComparingInt(ProductResponse.ProductSummary::getProductId));
+
+	// revision is the catalog revision the arrays are known to hold; it only advances past
+	// local writes applied in revision order, so anything else makes the next check reload
+	private record Snapshot(Map<String, ProductResponse.ProductSummary[]> sorted, long revision) {
+	}
+
+	private final ProductRepository productRepository;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate readTransaction;
+	private final boolean enabled;
+	private final int maxProducts;
+
+	// Null while disabled or warming; callers then go to the database
+	private volatile Snapshot snapshot;
+	private volatile boolean overLimit;
+	// Guarded by refreshLock: the revision at which the catalog was found over the limit
+	private long overLimitAt;
+	private final Object refreshLock = new Object();
+	// Guarded by this: ids written locally while a full load was running
+	private boolean loading;
+	private final Set<Integer> changedDuringLoad = new HashSet<>();
+	private boolean everythingChangedDuringLoad;
+	// Guarded by this: the last revision the check saw (-1 before the first) and the revisions
+	// written locally above it
+	private long checkedRevision = -1;
+	private final Set<Long> localRevisions = new HashSet<>();
+
+	public ProductCatalogIndex(ProductRepository productRepository, ReadYourWritesTracker readYourWritesTracker,
+			ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+			@Value("${app.catalog-index.enabled:true}") boolean enabled,
+			@Value("${app.catalog-index.max-products:1000000}") int maxProducts) {
+		this.productRepository = productRepository;
+		this.readYourWritesTracker = readYourWritesTracker;
+		this.eventPublisher = eventPublisher;
+		// After-commit listeners still see the finished transaction, so reads need their own
+		this.readTransaction = new TransactionTemplate(transactionManager);
+		this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readTransaction.setReadOnly(true);
+		this.enabled = enabled;
+		this.maxProducts = maxProducts;
+	}
+
+	public boolean isWarm() {
+		return snapshot != null;
+	}
+
+	// Empty when the index cannot answer; page and size are already validated
+	public Optional<ProductResponse> page(int page, int size, String sortBy, boolean descending) {
+		Snapshot current = snapshot;
+		if (current == null) {
+			return Optional.empty();
+		}
+		ProductResponse.ProductSummary[] sorted = current.sorted().get(sortBy);
+		int total = sorted.length;
+		int totalPages = (int) Math.ceil((double) total / size);
+		long from = (long) page * size;
+		int count = (int) Math.max(0, Math.min(size, total - from));
+
+		List<ProductResponse.ProductSummary> content = new ArrayList<>(count);
+		// Read backwards, (key, id) ascending is (key desc, id desc): the DB's descending order
+		for (int i = 0; i < count; i++) {
+			int position = (int) from + i;
+			content.add(sorted[descending ? total - 1 - position : position]);
+		}
+		return Optional.of(ProductResponse.builder().product(content).currentPage(page).totalPages(totalPages)
+				.totalItems(total).pageSize(size).hasNext(page + 1 < totalPages).hasPrevious(page > 0).build());
+	}
+
+	// The check reads from a replica when routing is on: lag only delays other nodes' writes,
+	// since local ones are applied on commit. Loads still read the primary.
+	@Scheduled(fixedDelayString = "${app.catalog-index.refresh-interval:PT5S}")
+	public void refresh() {
+		if (!enabled) {
+			return;
+		}
+		synchronized (refreshLock) {
+			long revision = readTransaction.execute(status -> productRepository.catalogRevision());
+			announceRemoteChanges(revision);
+			Snapshot current = snapshot;
+			// Revisions only grow, so a lagging replica reporting an older one means nothing new
+			if (current != null ? revision <= current.revision() : overLimit && revision <= overLimitAt) {
+				return;
+			}
+			reload();
+		}
+	}
+
+	// A local write whose listener has not run yet looks remote too; that costs clients one
+	// needless reload, never a missed change
+	private void announceRemoteChanges(long revision) {
+		boolean remote;
+		synchronized (this) {
+			if (revision <= checkedRevision) {
+				return;
+			}
+			long from = checkedRevision;
+			remote = from >= 0 && (revision - from > localRevisions.size()
+					|| LongStream.rangeClosed(from + 1, revision).anyMatch(r -> !localRevisions.contains(r)));
+			checkedRevision = revision;
+			localRevisions.removeIf(r -> r <= revision);
+		}
+		if (remote) {
+			eventPublisher.publishEvent(new RemoteProductChangeEvent(revision));
+		}
+	}
+
+	private void reload() {
+		synchronized (this) {
+			loading = true;
+			changedDuringLoad.clear();
+			everythingChangedDuringLoad = false;
+		}
+		long start = System.nanoTime();
+		// Read before the rows, so a write committed during the load makes the next check reload
+		long revision = readTransaction.execute(
+				status -> readYourWritesTracker.onPrimary(productRepository::catalogRevision));
+		List<ProductResponse.ProductSummary> products;
+		try {
+			products = loadAll();
+		} finally {
+			synchronized (this) {
+				loading = false;
+			}
+		}
+		if (products == null) {
+			if (!overLimit) {
+				log.warn("Catalog has more than {} products, the index limit; listing from the database",
+						maxProducts);
+			}
+			overLimit = true;
+			overLimitAt = revision;
+			snapshot = null;
+			return;
+		}
+		overLimit = false;
+
+		synchronized (this) {
+			if (everythingChangedDuringLoad) {
+				// A rule-based update raced the load; the next check loads again
+				snapshot = null;
+				return;
+			}
+			snapshot = build(products, revision);
+			// Local writes that raced the load are re-read so this node never serves older data
+			if (!changedDuringLoad.isEmpty()) {
+				try {
+					apply(changedDuringLoad, revision);
+				} catch (RuntimeException e) {
+					snapshot = null;
+					throw e;
+				}
+			}
+		}
+		log.info("Loaded {} products into the catalog index in {} ms", products.size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	// Runs in the writing thread, so the writer's next list already shows the change
+	@TransactionalEventListener
+	public synchronized void onCatalogChanged(ProductCatalogChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		if (event.revision() > checkedRevision) {
+			localRevisions.add(event.revision());
+		}
+		if (loading) {
+			if (event.affectsAll()) {
+				everythingChangedDuringLoad = true;
+			} else {
+				changedDuringLoad.addAll(event.productIds());
+			}
+		}
+		if (snapshot == null) {
+			return;
+		}
+		if (event.affectsAll()) {
+			// Rule-based updates can touch any row; list from the DB until the next reload
+			snapshot = null;
+			return;
+		}
+		try {
+			// Only the next revision keeps the snapshot current; after a gap the next check reloads
+			Snapshot current = snapshot;
+			apply(event.productIds(),
+					event.revision() == current.revision() + 1 ? event.revision() : current.revision());
+		} catch (RuntimeException e) {
+			log.warn("Could not apply product changes to the catalog index, reloading: {}", e.getMessage());
+			snapshot = null;
+		}
+	}
+
+	// Copy-on-write: re-read the changed rows and merge them into fresh arrays
+	private synchronized void apply(Collection<Integer> productIds, long revision) {
+		Snapshot current = snapshot;
+		List<Integer> ids = List.copyOf(productIds);
+		List<ProductResponse.ProductSummary> changed = readTransaction.execute(status -> readYourWritesTracker
+				.onPrimary(() -> productRepository.findAllById(ids).stream().map(ProductCatalogIndex::summary)
+						.toList()));
+		Set<Integer> replaced = new HashSet<>(ids);
+
+		Map<String, ProductResponse.ProductSummary[]> sorted = new HashMap<>();
+		for (Map.Entry<String, Comparator<ProductResponse.ProductSummary>> ordering : ORDERINGS.entrySet()) {
+			sorted.put(ordering.getKey(),
+					merge(current.sorted().get(ordering.getKey()), replaced, changed, ordering.getValue()));
+		}
+		snapshot = new Snapshot(Map.copyOf(sorted), revision);
+	}
+
+	private static ProductResponse.ProductSummary[] merge(ProductResponse.ProductSummary[] current,
+			Set<Integer> replaced, List<ProductResponse.ProductSummary> changed,
+			Comparator<ProductResponse.ProductSummary> ordering) {
+		ProductResponse.ProductSummary[] additions = changed.toArray(ProductResponse.ProductSummary[]::new);
+		Arrays.sort(additions, ordering);
+		ProductResponse.ProductSummary[] merged = new ProductResponse.ProductSummary[current.length
+				+ additions.length];
+		int size = 0;
+		int next = 0;
+		for (ProductResponse.ProductSummary product : current) {
+			if (replaced.contains(product.getProductId())) {
+				continue;
+			}
+			while (next < additions.length && ordering.compare(additions[next], product) < 0) {
+				merged[size++] = additions[next++];
+			}
+			merged[size++] = product;
+		}
+		while (next < additions.length) {
+			merged[size++] = additions[next++];
+		}
+		return Arrays.copyOf(merged, size);
+	}
+
+	// Null once it reads more than max-products rows
+	private List<ProductResponse.ProductSummary> loadAll() {
+		List<ProductResponse.ProductSummary> products = new ArrayList<>();
+		int afterId = 0;
+		List<Product> chunk;
+		do {
+			int from = afterId;
+			chunk = readTransaction.execute(status -> readYourWritesTracker.onPrimary(
+					() -> productRepository.findByProductIdGreaterThanOrderByProductIdAsc(from, Limit.of(LOAD_CHUNK_SIZE))));
+			chunk.forEach(product -> products.add(summary(product)));
+			if (products.size() > maxProducts) {
+				return null;
+			}
+			if (!chunk.isEmpty()) {
+				afterId = chunk.get(chunk.size() - 1).getProductId();
+			}
+		} while (chunk.size() == LOAD_CHUNK_SIZE);
+		return products;
+	}
+
+	private static Snapshot build(List<ProductResponse.ProductSummary> products, long revision) {
+		Map<String, ProductResponse.ProductSummary[]> sorted = new HashMap<>();
+		ProductResponse.ProductSummary[] all = products.toArray(ProductResponse.ProductSummary[]::new);
+		ORDERINGS.forEach((sortBy, ordering) -> {
+			ProductResponse.ProductSummary[] copy = all.clone();
+			Arrays.sort(copy, ordering);
+			sorted.put(sortBy, copy);
+		});
+		return new Snapshot(Map.copyOf(sorted), revision);
+	}
+
+	private static ProductResponse.ProductSummary summary(Product product) {
+		return ProductResponse.ProductSummary.builder().productId(product.getProductId())
+				.productName(product.getProductName()).productPrice(product.getProductPrice())
+				.productCost(product.getProductCost()).build();
+	}
+}
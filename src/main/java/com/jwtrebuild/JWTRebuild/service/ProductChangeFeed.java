@@ -0,0 +1,298 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Pushes committed product writes to Server-Sent Events subscribers. Each change is
+ * serialized once and kept in a bounded replay ring, so a client reconnecting with
+ * Last-Event-ID gets what it missed; when that is no longer in the ring it is told to
+ * resync instead. Idle connections hold no thread: writers only append to a per-client
+ * queue, and a virtual thread drains it while there is something to send. A client whose
+ * queue fills up is disconnected rather than allowed to hold back anyone else. A stream
+ * lives no longer than the access token that opened it and ends when that token is revoked
+ * by a logout or role change.
+ *
+ * <p>
+ * The feed carries writes made through this node. Writes made on other nodes reach it as a
+ * resync once the catalog index sees their revision. Event ids start with a per-start epoch,
+ * so ids from another node or an earlier run also lead to a resync.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ProductChangeFeed implements SmartLifecycle {
+
+	public static final String SUBSCRIBED = "subscribed";
+	public static final String RESYNC = "resync";
+
+	private record Change(long sequence, String type, String data) {
+	}
+
+	private static final Change HEARTBEAT = new Change(-1, null, null);
+
+	private static final class Subscriber {
+		private final SseEmitter emitter;
+		private final String username;
+		private final long tokenIssuedAt;
+		private final BlockingQueue<Change> pending;
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		private Subscriber(SseEmitter emitter, String username, long tokenIssuedAt, int bufferSize) {
+			this.emitter = emitter;
+			this.username = username;
+			this.tokenIssuedAt = tokenIssuedAt;
+			this.pending = new ArrayBlockingQueue<>(bufferSize);
+		}
+	}
+
+	private final JsonMapper jsonMapper;
+	private final UserInvalidationRegistry userInvalidationRegistry;
+	private final int replaySize;
+	private final int clientBuffer;
+	private final long timeoutMillis;
+	private final int maxClients;
+	private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+	// Guarded by itself; subscribing and publishing both hold it, so no change is missed or sent twice
+	private final ArrayDeque<Change> replay = new ArrayDeque<>();
+	private long lastSequence;
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+	private final LongAdder dropped = new LongAdder();
+	private volatile boolean running;
+
+	public ProductChangeFeed(JsonMapper jsonMapper, UserInvalidationRegistry userInvalidationRegistry,
+			@Value("${app.change-feed.replay-size:1000}") int replaySize,
+			@Value("${app.change-feed.client-buffer:256}") int clientBuffer,
+			@Value("${app.change-feed.timeout:PT30M}") Duration timeout,
+			@Value("${app.change-feed.max-clients:10000}") int maxClients) {
+		this.jsonMapper = jsonMapper;
+		this.userInvalidationRegistry = userInvalidationRegistry;
+		this.replaySize = replaySize;
+		this.clientBuffer = clientBuffer;
+		this.timeoutMillis = timeout.toMillis();
+		this.maxClients = maxClients;
+	}
+
+	// Empty when the node already serves max-clients subscribers or is shutting down. The token
+	// times are those of the access token that authorized the request; async dispatches are not
+	// re-authorized.
+	public Optional<SseEmitter> subscribe(String lastEventId, String username, long tokenIssuedAt,
+			long tokenExpiresAt) {
+		if (!running || subscribers.size() >= maxClients) {
+			return Optional.empty();
+		}
+		long untilExpiry = Math.max(1, tokenExpiresAt - System.currentTimeMillis());
+		SseEmitter emitter = new SseEmitter(Math.min(timeoutMillis, untilExpiry));
+		Subscriber subscriber = new Subscriber(emitter, username, tokenIssuedAt, clientBuffer);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> {
+			subscribers.remove(subscriber);
+			// Ends the stream cleanly; the client reconnects with a fresh token and Last-Event-ID
+			emitter.complete();
+		});
+		emitter.onError(e -> subscribers.remove(subscriber));
+
+		synchronized (replay) {
+			// Checked again under the lock stop() takes, so no stream is added after it ran
+			if (!running) {
+				return Optional.empty();
+			}
+			// A new client gets the current position to resume from; a returning one what it missed
+			List<Change> missed = lastEventId == null ? null : missedSince(lastEventId);
+			if (lastEventId == null) {
+				subscriber.pending.add(new Change(lastSequence, SUBSCRIBED, "{}"));
+			} else if (missed == null || missed.size() >= clientBuffer) {
+				subscriber.pending.add(new Change(lastSequence, RESYNC, "{}"));
+			} else {
+				subscriber.pending.addAll(missed);
+			}
+			subscribers.add(subscriber);
+		}
+		schedule(subscriber);
+		return Optional.of(emitter);
+	}
+
+	// Runs after commit in the writing thread; it only appends to queues and never waits on a client
+	@TransactionalEventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		String type = event.type();
+		String data;
+		if (event.product() != null) {
+			data = jsonMapper.writeValueAsString(event.product());
+		} else if (event.productIds() != null) {
+			data = jsonMapper.writeValueAsString(Map.of("productIds", event.productIds()));
+		} else {
+			// Rows selected by a rule: the client cannot tell which changed, so it reloads
+			type = RESYNC;
+			data = "{}";
+		}
+		broadcast(type, data);
+	}
+
+	// Another node changed the catalog; its writes never pass through here, so clients reload
+	@EventListener
+	public void onRemoteProductChange(RemoteProductChangeEvent event) {
+		broadcast(RESYNC, "{}");
+	}
+
+	private void broadcast(String type, String data) {
+		List<Subscriber> notified = new ArrayList<>();
+		synchronized (replay) {
+			Change change = new Change(++lastSequence, type, data);
+			replay.addLast(change);
+			if (replay.size() > replaySize) {
+				replay.removeFirst();
+			}
+			for (Subscriber subscriber : subscribers) {
+				if (subscriber.pending.offer(change)) {
+					notified.add(subscriber);
+				} else {
+					drop(subscriber);
+				}
+			}
+		}
+		notified.forEach(this::schedule);
+	}
+
+	// Streams opened with a token that was just revoked end now, not when the token would expire
+	@EventListener
+	public void onUserInvalidated(UserInvalidatedEvent event) {
+		for (Subscriber subscriber : subscribers) {
+			if (subscriber.username.equals(event.userEmail())
+					&& userInvalidationRegistry.isInvalidated(subscriber.username, subscriber.tokenIssuedAt)
+					&& subscribers.remove(subscriber)) {
+				log.debug("Ending change feed stream of {} after token revocation", subscriber.username);
+				senders.execute(subscriber.emitter::complete);
+			}
+		}
+	}
+
+	// Keeps proxies from closing idle streams and finds clients that went away silently
+	@Scheduled(fixedDelayString = "${app.change-feed.heartbeat-interval:PT30S}")
+	public void heartbeat() {
+		for (Subscriber subscriber : subscribers) {
+			if (subscriber.pending.offer(HEARTBEAT)) {
+				schedule(subscriber);
+			} else {
+				drop(subscriber);
+			}
+		}
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	@Override
+	public void start() {
+		running = true;
+	}
+
+	// The default phase stops before the web server's graceful shutdown, which would otherwise
+	// wait for every open stream; clients reconnect elsewhere with Last-Event-ID
+	@Override
+	public void stop() {
+		synchronized (replay) {
+			running = false;
+		}
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+		subscribers.clear();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@PreDestroy
+	public void close() {
+		senders.shutdownNow();
+	}
+
+	// Null when the id cannot be resumed from: another epoch, unparseable, or already out of the ring
+	private List<Change> missedSince(String lastEventId) {
+		int separator = lastEventId.lastIndexOf('-');
+		if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+			return null;
+		}
+		long sequence;
+		try {
+			sequence = Long.parseLong(lastEventId.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		long oldest = replay.isEmpty() ? lastSequence + 1 : replay.peekFirst().sequence();
+		if (sequence > lastSequence || sequence < oldest - 1) {
+			return null;
+		}
+		return replay.stream().filter(change -> change.sequence() > sequence).toList();
+	}
+
+	private void schedule(Subscriber subscriber) {
+		if (subscriber.draining.compareAndSet(false, true)) {
+			senders.execute(() -> drain(subscriber));
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		do {
+			Change change;
+			while ((change = subscriber.pending.poll()) != null) {
+				try {
+					if (change == HEARTBEAT) {
+						subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+					} else {
+						subscriber.emitter.send(SseEmitter.event().id(epoch + "-" + change.sequence())
+								.name(change.type()).data(change.data()));
+					}
+				} catch (IOException | IllegalStateException e) {
+					// Client gone or emitter already completed; draining stays claimed so nothing reschedules it
+					subscribers.remove(subscriber);
+					return;
+				}
+			}
+			subscriber.draining.set(false);
+		} while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+	}
+
+	private void drop(Subscriber subscriber) {
+		if (subscribers.remove(subscriber)) {
+			dropped.increment();
+			log.debug("Dropping change feed subscriber with {} undelivered events", subscriber.pending.size());
+			// complete() waits for a send in progress, so it must not run on the writer's thread
+			senders.execute(subscriber.emitter::complete);
+		}
+	}
+}
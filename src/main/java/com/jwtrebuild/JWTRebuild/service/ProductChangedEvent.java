@@ -0,0 +1,27 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.List;
+
+import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
+
+// What the change feed tells clients; published inside the writing transaction like
+// ProductCatalogChangedEvent. Single-row writes carry the new state. Bulk repricing has no
+// product but the ids it touched, or null ids when the rows were selected by price range.
+public record ProductChangedEvent(String type, ProductListResponse product, List<Integer> productIds) {
+
+	public static final String CREATED = "created";
+	public static final String UPDATED = "updated";
+	public static final String REPRICED = "repriced";
+
+	public static ProductChangedEvent created(ProductListResponse product) {
+		return new ProductChangedEvent(CREATED, product, null);
+	}
+
+	public static ProductChangedEvent updated(ProductListResponse product) {
+		return new ProductChangedEvent(UPDATED, product, null);
+	}
+
+	public static ProductChangedEvent repriced(List<Integer> productIds) {
+		return new ProductChangedEvent(REPRICED, null, productIds);
+	}
+}
@@ -1,35 +1,82 @@
 package com.jwtrebuild.JWTRebuild.service;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.jwtrebuild.JWTRebuild.config.ReadYourWritesTracker;
+import com.jwtrebuild.JWTRebuild.dto.request.BulkProductUpdateRequest;
 import com.jwtrebuild.JWTRebuild.dto.request.ProductRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.BulkProductUpdateResponse;
 import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
 import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
 import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.jfr.ProductQueryEvent;
 import com.jwtrebuild.JWTRebuild.repository.ProductRepository;
 
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+	// Keeps the IN list well under driver and optimizer limits
+	private static final int BULK_ID_CHUNK_SIZE = 1000;
+	// Each has a (column, product_id) index; see V2__hot_query_indexes.sql
+	private static final Set<String> SORTABLE_FIELDS = Set.of("productId", "productName", "productPrice",
+			"productCost");
+
 	private final ProductRepository productRepository;
+	private final ProductCatalogIndex productCatalogIndex;
+	private final ApplicationEventPublisher eventPublisher;
+	private final SingleFlight<Integer, Optional<Product>> productLookups;
+	private final ReadYourWritesTracker readYourWritesTracker;
 
+	// Not transactional: a warm index answers without touching the database, and
+	// findAll(Pageable) runs its page and count queries in one read-only transaction
 	public ProductResponse getAllProducts(int page, int size, String sortBy, String sortDir) {
+		if (!SORTABLE_FIELDS.contains(sortBy)) {
+			throw new RuntimeException("Products cannot be sorted by " + sortBy);
+		}
 		Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+		// Tie-break on id so pages are stable and the composite index covers the whole ORDER BY
+		if (!sortBy.equals("productId")) {
+			sort = sort.and(sortDir.equalsIgnoreCase("desc") ? Sort.by("productId").descending()
+					: Sort.by("productId").ascending());
+		}
 
 		Pageable pageable = (Pageable) PageRequest.of(page, size, sort);
-		Page<Product> productPage = productRepository.findAll(pageable);
+		Optional<ProductResponse> indexed = productCatalogIndex.page(page, size, sortBy,
+				sortDir.equalsIgnoreCase("desc"));
+		if (indexed.isPresent()) {
+			return indexed.get();
+		}
+
+		ProductQueryEvent event = new ProductQueryEvent();
+		event.begin();
+		Page<Product> productPage;
+		String outcome = "error";
+		long rows = 0;
+		try {
+			productPage = productRepository.findAll(pageable);
+			outcome = "ok";
+			rows = productPage.getNumberOfElements();
+		} finally {
+			event.finish("list", outcome, rows);
+		}
 
 		List<ProductResponse.ProductSummary> summaries = productPage.getContent().stream()
 				.map(product -> ProductResponse.ProductSummary.builder().productId(product.getProductId())
@@ -52,19 +99,35 @@ public class ProductService {
 		product.setProductCost(request.getProductCost());
 
 		Product savedProduct = productRepository.save(product);
-
-		return ProductListResponse.builder().productId(savedProduct.getProductId())
+		ProductListResponse response = ProductListResponse.builder().productId(savedProduct.getProductId())
 				.productName(savedProduct.getProductName()).productDescription(savedProduct.getProductDescription())
-				.productPrice(savedProduct.getProductPrice()).productCost(savedProduct.getProductCost()).build();
+				.productPrice(savedProduct.getProductPrice()).productCost(savedProduct.getProductCost())
+				.version(savedProduct.getVersion()).build();
+		publishCatalogChange(List.of(savedProduct.getProductId()));
+		eventPublisher.publishEvent(ProductChangedEvent.created(response));
+		return response;
 	}
 
+	// Not transactional either, so callers waiting on a coalesced lookup hold no connection;
+	// findById runs in the repository's own read-only transaction
 	public ProductListResponse getProductById(int id) {
-		Product product = productRepository.findById(id)
-				.orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
+		ProductQueryEvent event = new ProductQueryEvent();
+		event.begin();
+		Optional<Product> found;
+		String outcome = "error";
+		try {
+			// A caller that must read its own writes never joins a lookup that may be on a replica
+			found = readYourWritesTracker.requiresPrimary() ? productRepository.findById(id)
+					: productLookups.execute(id, () -> productRepository.findById(id));
+			outcome = found.isPresent() ? "found" : "not_found";
+		} finally {
+			event.finish("by_id", outcome, "found".equals(outcome) ? 1 : 0);
+		}
+		Product product = found.orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
 
 		return ProductListResponse.builder().productId(product.getProductId()).productName(product.getProductName())
 				.productDescription(product.getProductDescription()).productPrice(product.getProductPrice())
-				.productCost(product.getProductCost()).build();
+				.productCost(product.getProductCost()).version(product.getVersion()).build();
 
 	}
 
@@ -72,16 +135,71 @@ public class ProductService {
 	public ProductListResponse updateProduct(int id, ProductRequest request) {
 		Product product = productRepository.findById(id)
 				.orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
+		if (request.getVersion() != null && request.getVersion() != product.getVersion()) {
+			throw new ObjectOptimisticLockingFailureException(Product.class, id);
+		}
 
 		product.setProductName(request.getProductName());
 		product.setProductDescription(request.getProductDescription());
 		product.setProductPrice(request.getProductPrice());
 		product.setProductCost(request.getProductCost());
 
-		Product updatedProduct = productRepository.save(product);
-
-		return ProductListResponse.builder().productId(updatedProduct.getProductId())
+		// Flush now so a concurrent edit fails the version check here and the new version is returned
+		Product updatedProduct = productRepository.saveAndFlush(product);
+		ProductListResponse response = ProductListResponse.builder().productId(updatedProduct.getProductId())
 				.productName(updatedProduct.getProductName()).productDescription(updatedProduct.getProductDescription())
-				.productPrice(updatedProduct.getProductPrice()).productCost(updatedProduct.getProductCost()).build();
+				.productPrice(updatedProduct.getProductPrice()).productCost(updatedProduct.getProductCost())
+				.version(updatedProduct.getVersion()).build();
+		publishCatalogChange(List.of(id));
+		eventPublisher.publishEvent(ProductChangedEvent.updated(response));
+		return response;
+	}
+
+	// Repricing runs as UPDATE statements; no product is loaded into the persistence context
+	@Transactional
+	public BulkProductUpdateResponse bulkUpdatePrices(BulkProductUpdateRequest request) {
+		ProductQueryEvent event = new ProductQueryEvent();
+		event.begin();
+		int updated = 0;
+		String outcome = "error";
+		try {
+			updated = adjustPrices(request);
+			outcome = "ok";
+		} finally {
+			event.finish("bulk_update", outcome, updated);
+		}
+
+		log.info("Bulk price update changed {} products", updated);
+		return BulkProductUpdateResponse.builder().updated(updated).build();
+	}
+
+	private int adjustPrices(BulkProductUpdateRequest request) {
+		int updated = 0;
+		List<Integer> ids = request.getProductIds();
+		if (ids != null && !ids.isEmpty()) {
+			for (int from = 0; from < ids.size(); from += BULK_ID_CHUNK_SIZE) {
+				updated += productRepository.adjustPricesByIds(ids.subList(from, Math.min(from + BULK_ID_CHUNK_SIZE,
+						ids.size())), request.getPriceFactor(), request.getPriceDelta(), request.getCostFactor(),
+						request.getCostDelta());
+			}
+			publishCatalogChange(List.copyOf(ids));
+			eventPublisher.publishEvent(ProductChangedEvent.repriced(List.copyOf(ids)));
+		} else if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+			double minPrice = request.getMinPrice() != null ? request.getMinPrice() : 0;
+			double maxPrice = request.getMaxPrice() != null ? request.getMaxPrice() : Double.MAX_VALUE;
+			updated = productRepository.adjustPricesInRange(minPrice, maxPrice, request.getPriceFactor(),
+					request.getPriceDelta(), request.getCostFactor(), request.getCostDelta());
+			publishCatalogChange(null);
+			eventPublisher.publishEvent(ProductChangedEvent.repriced(null));
+		} else {
+			throw new RuntimeException("Bulk update needs productIds or a price range");
+		}
+		return updated;
+	}
+
+	// Last in each write so the revision row is locked only until the commit right after
+	private void publishCatalogChange(List<Integer> productIds) {
+		productRepository.bumpCatalogRevision();
+		eventPublisher.publishEvent(new ProductCatalogChangedEvent(productIds, productRepository.catalogRevision()));
 	}
 }
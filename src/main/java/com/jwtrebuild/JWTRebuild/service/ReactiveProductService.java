@@ -0,0 +1,29 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductService {
+
+	private final ProductService productService;
+	private final Scheduler jdbcScheduler;
+
+	public Mono<ProductResponse> getAllProducts(int page, int size, String sortBy, String sortDir) {
+		return Mono.fromCallable(() -> productService.getAllProducts(page, size, sortBy, sortDir))
+				.subscribeOn(jdbcScheduler);
+	}
+
+	public Mono<ProductListResponse> getProductById(int id) {
+		return Mono.fromCallable(() -> productService.getProductById(id)).subscribeOn(jdbcScheduler);
+	}
+}
@@ -0,0 +1,27 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserLookupService implements ReactiveUserDetailsService {
+
+	private final CustomUserDetailService customUserDetailService;
+	private final Scheduler jdbcScheduler;
+
+	// Same lookup (replica routing, read-your-writes) as the servlet stack, off the event loop
+	@Override
+	public Mono<UserDetails> findByUsername(String username) {
+		return Mono.fromCallable(() -> customUserDetailService.loadUserByUsername(username))
+				.subscribeOn(jdbcScheduler).onErrorResume(UsernameNotFoundException.class, e -> Mono.empty());
+	}
+}
@@ -0,0 +1,51 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Bounded LRU view of recently used refresh sessions, kept in step with refresh_sessions
+@Component
+public class RefreshSessionIndex {
+
+	public record Entry(String userEmail, String currentJti, long expiresAt, boolean revoked) {
+	}
+
+	private final Map<String, Entry> entries;
+
+	public RefreshSessionIndex(@Value("${jwt.refresh-token.index-size:100000}") int maxEntries) {
+		this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	public synchronized Entry get(String familyId) {
+		return entries.get(familyId);
+	}
+
+	public synchronized void put(String familyId, Entry entry) {
+		entries.put(familyId, entry);
+	}
+
+	public synchronized void revoke(String familyId) {
+		Entry entry = entries.get(familyId);
+		if (entry != null) {
+			entries.put(familyId, new Entry(entry.userEmail(), entry.currentJti(), entry.expiresAt(), true));
+		}
+	}
+
+	public synchronized void revokeUser(String userEmail) {
+		entries.replaceAll((familyId, entry) -> entry.userEmail().equals(userEmail)
+				? new Entry(entry.userEmail(), entry.currentJti(), entry.expiresAt(), true)
+				: entry);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+}
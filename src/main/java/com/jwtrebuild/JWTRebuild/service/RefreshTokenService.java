@@ -0,0 +1,124 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.jwtrebuild.JWTRebuild.entity.RefreshSession;
+import com.jwtrebuild.JWTRebuild.entity.SessionInvalidationEvent;
+import com.jwtrebuild.JWTRebuild.repository.RefreshSessionRepository;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+	private final RefreshSessionRepository refreshSessionRepository;
+	private final RefreshSessionIndex refreshSessionIndex;
+	private final JWTService jwtService;
+	private final SessionInvalidationService sessionInvalidationService;
+
+	// Starts a new device session (token family) and returns its first refresh token
+	public String issue(UserDetails user, String deviceId) {
+		return issue(user, deviceId, UUID.randomUUID().toString());
+	}
+
+	private String issue(UserDetails user, String deviceId, String familyId) {
+		long now = System.currentTimeMillis();
+		String tokenId = UUID.randomUUID().toString();
+		long expiresAt = now + jwtService.getRefreshTokenExpiration();
+
+		refreshSessionRepository.save(RefreshSession.builder().familyId(familyId).userEmail(user.getUsername())
+				.deviceId(deviceId).currentJti(tokenId).createdAt(now).lastUsedAt(now).expiresAt(expiresAt)
+				.revoked(false).build());
+		refreshSessionIndex.put(familyId, new RefreshSessionIndex.Entry(user.getUsername(), tokenId, expiresAt, false));
+
+		return jwtService.generateRefreshToken(user, deviceId, familyId, tokenId);
+	}
+
+	// Exchanges a refresh token, already verified by the caller, for the next one in its
+	// family. Presenting a token that was already rotated revokes the whole family.
+	public String rotate(String refreshToken, Claims claims, UserDetails user) {
+		String familyId = claims.get("fid", String.class);
+		String tokenId = claims.getId();
+		String deviceId = claims.get("device_id", String.class);
+
+		// Stateless token from before sessions were persisted: move it onto a session once. The
+		// family id is derived from the token, so presenting it again collides with that session
+		if (familyId == null || tokenId == null) {
+			String legacyFamilyId = UUID.nameUUIDFromBytes(refreshToken.getBytes(StandardCharsets.UTF_8)).toString();
+			try {
+				return issue(user, deviceId != null ? deviceId : "web-browser", legacyFamilyId);
+			} catch (DataIntegrityViolationException e) {
+				log.warn("Legacy refresh token reuse detected for user {}", user.getUsername());
+				revokeFamily(user.getUsername(), legacyFamilyId);
+				throw new RuntimeException("Refresh token reuse detected");
+			}
+		}
+
+		// Revocation is final, so a revoked entry can be trusted even if it is stale
+		RefreshSessionIndex.Entry cached = refreshSessionIndex.get(familyId);
+		long now = System.currentTimeMillis();
+		if (cached != null && (cached.revoked() || cached.expiresAt() <= now)) {
+			throw new RuntimeException("Refresh token has been revoked");
+		}
+
+		String nextTokenId = UUID.randomUUID().toString();
+		long expiresAt = now + jwtService.getRefreshTokenExpiration();
+		int rotated = refreshSessionRepository.rotate(familyId, user.getUsername(), tokenId, nextTokenId, now,
+				expiresAt);
+		if (rotated == 0) {
+			// Old token replayed (or session gone): assume it leaked and end the session
+			log.warn("Refresh token reuse detected for user {} in family {}", user.getUsername(), familyId);
+			revokeFamily(user.getUsername(), familyId);
+			throw new RuntimeException("Refresh token reuse detected");
+		}
+
+		refreshSessionIndex.put(familyId,
+				new RefreshSessionIndex.Entry(user.getUsername(), nextTokenId, expiresAt, false));
+		return jwtService.generateRefreshToken(user, deviceId, familyId, nextTokenId);
+	}
+
+	public List<RefreshSession> activeSessions(String userEmail) {
+		return refreshSessionRepository.findByUserEmailAndRevokedFalseAndExpiresAtGreaterThan(userEmail,
+				System.currentTimeMillis());
+	}
+
+	public boolean revokeSession(String userEmail, String familyId) {
+		boolean owned = refreshSessionRepository.findById(familyId)
+				.map(session -> session.getUserEmail().equals(userEmail)).orElse(false);
+		if (owned) {
+			revokeFamily(userEmail, familyId);
+		}
+		return owned;
+	}
+
+	public void revokeFamily(String userEmail, String familyId) {
+		refreshSessionRepository.revokeFamily(familyId);
+		// Other nodes drop the family from their index on their next poll
+		sessionInvalidationService.publish(SessionInvalidationEvent.Type.SESSION_REVOKED, userEmail, familyId);
+	}
+
+	// Ends every session of the user and cuts off their outstanding access tokens
+	public void revokeAllSessions(String userEmail) {
+		refreshSessionRepository.revokeAllForUser(userEmail);
+		sessionInvalidationService.publish(SessionInvalidationEvent.Type.LOGOUT, userEmail, null);
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:PT1H}")
+	public void purgeExpiredSessions() {
+		int purged = refreshSessionRepository.deleteExpiredBefore(System.currentTimeMillis());
+		if (purged > 0) {
+			log.info("Purged {} expired refresh sessions", purged);
+		}
+	}
+}
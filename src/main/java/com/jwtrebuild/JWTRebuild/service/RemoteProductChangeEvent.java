@@ -0,0 +1,6 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+// Published by ProductCatalogIndex when the catalog revision moved past writes made on this
+// node: another node changed products, and only a reload shows what changed
+public record RemoteProductChangeEvent(long revision) {
+}
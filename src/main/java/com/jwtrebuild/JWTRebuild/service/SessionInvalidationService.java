@@ -0,0 +1,150 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.jwtrebuild.JWTRebuild.config.ReadYourWritesTracker;
+import com.jwtrebuild.JWTRebuild.entity.SessionInvalidationEvent;
+import com.jwtrebuild.JWTRebuild.repository.SessionInvalidationEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class SessionInvalidationService {
+
+	private final SessionInvalidationEventRepository eventRepository;
+	private final UserInvalidationRegistry userInvalidationRegistry;
+	private final RefreshSessionIndex refreshSessionIndex;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final String nodeId;
+	private final int batchSize;
+	private final long commitGraceMillis;
+	private final long retentionMillis;
+
+	// Everything at or below the high-water mark has been applied and is old enough
+	// that no transaction with a smaller id can still commit
+	private volatile long highWaterMark;
+	// Events above the mark are re-read every poll; this keeps them from being applied twice
+	private final Set<Long> appliedAboveMark = ConcurrentHashMap.newKeySet();
+	private volatile boolean bootstrapped;
+
+	private final AtomicLong propagatedEvents = new AtomicLong();
+	private final AtomicLong totalPropagationMillis = new AtomicLong();
+	private final AtomicLong maxPropagationMillis = new AtomicLong();
+
+	public SessionInvalidationService(SessionInvalidationEventRepository eventRepository,
+			UserInvalidationRegistry userInvalidationRegistry, RefreshSessionIndex refreshSessionIndex,
+			ReadYourWritesTracker readYourWritesTracker, @Value("${app.invalidation.node-id:}") String nodeId,
+			@Value("${app.invalidation.batch-size:500}") int batchSize,
+			@Value("${app.invalidation.commit-grace:5000}") long commitGraceMillis,
+			@Value("${jwt.access-token.expiration:900000}") long accessTokenExpiration) {
+		this.eventRepository = eventRepository;
+		this.userInvalidationRegistry = userInvalidationRegistry;
+		this.refreshSessionIndex = refreshSessionIndex;
+		this.readYourWritesTracker = readYourWritesTracker;
+		this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+		this.batchSize = batchSize;
+		this.commitGraceMillis = commitGraceMillis;
+		// Events only matter while tokens issued before them can still be valid
+		this.retentionMillis = accessTokenExpiration + commitGraceMillis;
+	}
+
+	public void publish(SessionInvalidationEvent.Type type, String userEmail, String familyId) {
+		SessionInvalidationEvent event = eventRepository.save(SessionInvalidationEvent.builder().eventType(type)
+				.userEmail(userEmail).familyId(familyId).createdAt(System.currentTimeMillis()).originNode(nodeId)
+				.build());
+		// This node does not wait for its own poll
+		appliedAboveMark.add(event.getId());
+		apply(event);
+	}
+
+	@Scheduled(fixedDelayString = "${app.invalidation.poll-interval:PT1S}")
+	public void poll() {
+		long now = System.currentTimeMillis();
+		long since = now - retentionMillis;
+		List<SessionInvalidationEvent> batch;
+		do {
+			long afterId = highWaterMark;
+			// Tail the primary; a lagging replica would only add to the propagation delay
+			batch = readYourWritesTracker
+					.onPrimary(() -> eventRepository.findBatch(afterId, since, PageRequest.of(0, batchSize)));
+			long safeMark = highWaterMark;
+			boolean contiguous = true;
+			for (SessionInvalidationEvent event : batch) {
+				if (appliedAboveMark.add(event.getId())) {
+					apply(event);
+					if (bootstrapped) {
+						recordPropagation(event, now);
+					}
+				}
+				// Recent events are re-read until a slower transaction can no longer slip in below them
+				contiguous = contiguous && now - event.getCreatedAt() > commitGraceMillis;
+				if (contiguous) {
+					safeMark = event.getId();
+				}
+			}
+			boolean advanced = safeMark > highWaterMark;
+			highWaterMark = safeMark;
+			long mark = safeMark;
+			appliedAboveMark.removeIf(id -> id <= mark);
+			if (!advanced) {
+				break;
+			}
+		} while (batch.size() == batchSize);
+
+		// The first poll replays history, which is not a propagation delay
+		bootstrapped = true;
+		userInvalidationRegistry.evictExpired(now);
+	}
+
+	@Scheduled(fixedDelayString = "${app.invalidation.purge-interval:PT1H}")
+	public void purge() {
+		int purged = eventRepository.deleteOlderThan(System.currentTimeMillis() - retentionMillis);
+		if (purged > 0) {
+			log.info("Purged {} session invalidation events", purged);
+		}
+	}
+
+	public PropagationStats getPropagationStats() {
+		long count = propagatedEvents.get();
+		return new PropagationStats(count, count == 0 ? 0 : totalPropagationMillis.get() / count,
+				maxPropagationMillis.get(), highWaterMark);
+	}
+
+	public record PropagationStats(long events, long averageMillis, long maxMillis, long highWaterMark) {
+	}
+
+	private void apply(SessionInvalidationEvent event) {
+		switch (event.getEventType()) {
+		case LOGOUT -> {
+			userInvalidationRegistry.invalidate(event.getUserEmail(), event.getCreatedAt());
+			refreshSessionIndex.revokeUser(event.getUserEmail());
+		}
+		// Access tokens carry the old authorities; refresh sessions stay valid and pick up the new role
+		case ROLE_CHANGED -> userInvalidationRegistry.invalidate(event.getUserEmail(), event.getCreatedAt());
+		case SESSION_REVOKED -> refreshSessionIndex.revoke(event.getFamilyId());
+		}
+		readYourWritesTracker.recordWrite(event.getUserEmail());
+	}
+
+	private void recordPropagation(SessionInvalidationEvent event, long appliedAt) {
+		if (nodeId.equals(event.getOriginNode())) {
+			return;
+		}
+		long delay = Math.max(0, appliedAt - event.getCreatedAt());
+		propagatedEvents.incrementAndGet();
+		totalPropagationMillis.addAndGet(delay);
+		maxPropagationMillis.accumulateAndGet(delay, Math::max);
+		log.debug("Applied {} for {} from node {} after {} ms", event.getEventType(), event.getUserEmail(),
+				event.getOriginNode(), delay);
+	}
+}
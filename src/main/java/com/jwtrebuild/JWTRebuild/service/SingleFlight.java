@@ -0,0 +1,99 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller runs the loader on
+ * its own thread; callers arriving while it runs wait for that result, or rethrow the same
+ * exception, instead of issuing an identical query. Nothing is cached: once the load
+ * finishes the next caller starts a fresh one.
+ *
+ * <p>
+ * Waiting is bounded both in time and in the number of waiters per key, so a stuck load
+ * fails its followers quickly instead of piling up threads behind it.
+ */
+public class SingleFlight<K, V> {
+
+	private static final class Call<V> {
+		private final CompletableFuture<V> result = new CompletableFuture<>();
+		private final AtomicInteger waiters = new AtomicInteger();
+	}
+
+	private final String name;
+	private final long timeoutNanos;
+	private final int maxWaiters;
+	private final Map<K, Call<V>> calls = new ConcurrentHashMap<>();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	public SingleFlight(String name, Duration timeout, int maxWaiters) {
+		this.name = name;
+		this.timeoutNanos = timeout.toNanos();
+		this.maxWaiters = maxWaiters;
+	}
+
+	public V execute(K key, Supplier<V> loader) {
+		Call<V> call = new Call<>();
+		Call<V> inFlight = calls.putIfAbsent(key, call);
+		return inFlight == null ? lead(key, call, loader) : follow(inFlight);
+	}
+
+	private V lead(K key, Call<V> call, Supplier<V> loader) {
+		loads.increment();
+		try {
+			V value = loader.get();
+			call.result.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			call.result.completeExceptionally(e);
+			throw e;
+		} finally {
+			calls.remove(key, call);
+		}
+	}
+
+	private V follow(Call<V> call) {
+		if (call.waiters.incrementAndGet() > maxWaiters) {
+			call.waiters.decrementAndGet();
+			throw new RuntimeException("Too many callers waiting for the same " + name + " lookup");
+		}
+		try {
+			V value = call.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+			coalesced.increment();
+			return value;
+		} catch (ExecutionException e) {
+			// Followers see the leader's exception as is, e.g. a not-found stays a not-found
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new RuntimeException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new RuntimeException("Timed out waiting for an in-flight " + name + " lookup");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for a " + name + " lookup", e);
+		} finally {
+			call.waiters.decrementAndGet();
+		}
+	}
+
+	public long getLoads() {
+		return loads.sum();
+	}
+
+	public long getCoalesced() {
+		return coalesced.sum();
+	}
+}
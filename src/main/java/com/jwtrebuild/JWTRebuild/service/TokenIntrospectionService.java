@@ -0,0 +1,71 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.jwtrebuild.JWTRebuild.dto.response.IntrospectionResponse;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+@Service
+public class TokenIntrospectionService {
+
+	// Below this size the fork/join hand-off costs more than verifying inline
+	private static final int PARALLEL_THRESHOLD = 32;
+
+	private final JWTService jwtService;
+	private final UserInvalidationRegistry userInvalidationRegistry;
+	private final byte[] apiKey;
+
+	public TokenIntrospectionService(JWTService jwtService, UserInvalidationRegistry userInvalidationRegistry,
+			@Value("${jwt.introspection.api-key:}") String apiKey) {
+		this.jwtService = jwtService;
+		this.userInvalidationRegistry = userInvalidationRegistry;
+		this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+	}
+
+	public boolean isAuthorizedClient(String presentedKey) {
+		// An empty key disables the endpoint
+		return apiKey.length > 0 && presentedKey != null
+				&& MessageDigest.isEqual(apiKey, presentedKey.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public IntrospectionResponse introspect(List<String> tokens) {
+		Stream<String> stream = tokens.size() < PARALLEL_THRESHOLD ? tokens.stream() : tokens.parallelStream();
+		return IntrospectionResponse.builder().results(stream.map(this::introspect).toList()).build();
+	}
+
+	private IntrospectionResponse.TokenResult introspect(String token) {
+		if (token == null || token.isBlank()) {
+			return inactive("malformed");
+		}
+		try {
+			Claims claims = jwtService.verifyAccessToken(token);
+			Long issuedAt = jwtService.issuedAtMillis(claims);
+			if (issuedAt != null && userInvalidationRegistry.isInvalidated(claims.getSubject(), issuedAt)) {
+				return inactive("revoked");
+			}
+			return IntrospectionResponse.TokenResult.builder().active(true).subject(claims.getSubject())
+					.authorities(jwtService.extractAuthorities(claims))
+					.expiresAt(claims.getExpiration().getTime() / 1000).build();
+		} catch (ExpiredJwtException e) {
+			return inactive("expired");
+		} catch (SignatureException e) {
+			return inactive("invalid_signature");
+		} catch (JwtException | IllegalArgumentException e) {
+			return inactive("invalid");
+		}
+	}
+
+	private static IntrospectionResponse.TokenResult inactive(String reason) {
+		return IntrospectionResponse.TokenResult.builder().active(false).reason(reason).build();
+	}
+}
@@ -0,0 +1,39 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jwtrebuild.JWTRebuild.entity.SessionInvalidationEvent;
+import com.jwtrebuild.JWTRebuild.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAdminService {
+
+	private final UserRepository userRepository;
+	private final RefreshTokenService refreshTokenService;
+	private final SessionInvalidationService sessionInvalidationService;
+
+	@Transactional
+	public void forceLogout(String userEmail) {
+		if (!userRepository.existsByUserEmail(userEmail)) {
+			throw new RuntimeException("User not found");
+		}
+		refreshTokenService.revokeAllSessions(userEmail);
+		log.info("Logged out all sessions of {}", userEmail);
+	}
+
+	@Transactional
+	public void changeRole(String userEmail, String userRole) {
+		if (userRepository.updateRole(userEmail, userRole) == 0) {
+			throw new RuntimeException("User not found");
+		}
+		// Access tokens already issued still carry the old role
+		sessionInvalidationService.publish(SessionInvalidationEvent.Type.ROLE_CHANGED, userEmail, null);
+		log.info("Changed role of {} to {}", userEmail, userRole);
+	}
+}
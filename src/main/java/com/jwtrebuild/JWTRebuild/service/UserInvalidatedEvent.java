@@ -0,0 +1,6 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+// Published by UserInvalidationRegistry when a logout or role change cuts off a user's tokens,
+// so holders of long-lived connections (the change feed) can end them too
+public record UserInvalidatedEvent(String userEmail, long invalidatedAt) {
+}
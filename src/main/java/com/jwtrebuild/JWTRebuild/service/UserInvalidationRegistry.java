@@ -0,0 +1,52 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.stereotype.Component;
+
+// Local view of users whose outstanding access tokens must no longer be accepted
+@Component
+public class UserInvalidationRegistry implements ApplicationEventPublisherAware {
+
+	private final Map<String, Long> notBeforeByUser = new ConcurrentHashMap<>();
+	private final long accessTokenExpiration;
+	// Null when constructed outside a context
+	private ApplicationEventPublisher eventPublisher;
+
+	public UserInvalidationRegistry(@Value("${jwt.access-token.expiration:900000}") long accessTokenExpiration) {
+		this.accessTokenExpiration = accessTokenExpiration;
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	// Tokens issued up to this instant are rejected; applying an event twice is harmless
+	public void invalidate(String userEmail, long invalidatedAt) {
+		notBeforeByUser.merge(userEmail, invalidatedAt, Math::max);
+		if (eventPublisher != null) {
+			eventPublisher.publishEvent(new UserInvalidatedEvent(userEmail, invalidatedAt));
+		}
+	}
+
+	public boolean hasEntry(String userEmail) {
+		return notBeforeByUser.containsKey(userEmail);
+	}
+
+	// Takes JWTService.issuedAtMillis. A token issued in the same millisecond as the cut-off is
+	// rejected too: it may predate the change, and the client only has to sign in again
+	public boolean isInvalidated(String userEmail, long issuedAtMillis) {
+		Long notBefore = notBeforeByUser.get(userEmail);
+		return notBefore != null && issuedAtMillis <= notBefore;
+	}
+
+	// Once every token issued before the cut-off has expired the entry is useless
+	public void evictExpired(long now) {
+		notBeforeByUser.values().removeIf(notBefore -> now - notBefore > accessTokenExpiration);
+	}
+}
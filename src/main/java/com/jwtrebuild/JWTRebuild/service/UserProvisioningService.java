@@ -0,0 +1,209 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jwtrebuild.JWTRebuild.config.ReadYourWritesTracker;
+import com.jwtrebuild.JWTRebuild.dto.request.SignUpRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.BulkProvisionResponse;
+import com.jwtrebuild.JWTRebuild.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class UserProvisioningService {
+
+	private static final String DEFAULT_USER_ROLE = "USER";
+	private static final int LOOKUP_CHUNK_SIZE = 1000;
+	private static final String INSERT_USER = "insert into users (user_email, user_full_name, user_password, user_role) values (?, ?, ?, ?)";
+
+	private final UserRepository userRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ReadYourWritesTracker readYourWritesTracker;
+	private final Validator validator;
+	private final ExecutorService hashingExecutor;
+	private final int insertBatchSize;
+
+	public UserProvisioningService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+			JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			ReadYourWritesTracker readYourWritesTracker, Validator validator,
+			@Value("${app.provisioning.hashing-threads:0}") int hashingThreads,
+			@Value("${app.provisioning.insert-batch-size:500}") int insertBatchSize) {
+		this.userRepository = userRepository;
+		this.passwordEncoder = passwordEncoder;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readYourWritesTracker = readYourWritesTracker;
+		this.validator = validator;
+		this.insertBatchSize = insertBatchSize;
+
+		// bcrypt is pure CPU, so more threads than cores only adds contention
+		int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadCount = new AtomicInteger();
+		this.hashingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		hashingExecutor.shutdownNow();
+	}
+
+	public BulkProvisionResponse provision(List<SignUpRequest> requests) {
+		BulkProvisionResponse.RowResult[] results = new BulkProvisionResponse.RowResult[requests.size()];
+		List<Integer> candidates = new ArrayList<>();
+		Set<String> seenEmails = new HashSet<>();
+
+		// Per-row validation and in-batch duplicates
+		for (int i = 0; i < requests.size(); i++) {
+			SignUpRequest request = requests.get(i);
+			String violation = firstViolation(request);
+			if (violation != null) {
+				results[i] = row(i, request, BulkProvisionResponse.Status.INVALID, violation);
+			} else if (!seenEmails.add(normalize(request.getUserEmail()))) {
+				results[i] = row(i, request, BulkProvisionResponse.Status.DUPLICATE, "Email repeated in this batch");
+			} else {
+				candidates.add(i);
+			}
+		}
+
+		// One set-based lookup per chunk instead of existsByUserEmail per row
+		Set<String> existing = findExistingEmails(
+				candidates.stream().map(i -> normalize(requests.get(i).getUserEmail())).toList());
+		List<Integer> accepted = new ArrayList<>(candidates.size());
+		for (int i : candidates) {
+			if (existing.contains(normalize(requests.get(i).getUserEmail()))) {
+				results[i] = row(i, requests.get(i), BulkProvisionResponse.Status.DUPLICATE,
+						"User with this email already exists");
+			} else {
+				accepted.add(i);
+			}
+		}
+
+		List<String> hashes = hashPasswords(accepted.stream().map(i -> requests.get(i).getUserPassword()).toList());
+		Set<Integer> taken = insertUsers(requests, accepted, hashes);
+
+		int created = 0;
+		for (int n = 0; n < accepted.size(); n++) {
+			int i = accepted.get(n);
+			if (taken.contains(n)) {
+				results[i] = row(i, requests.get(i), BulkProvisionResponse.Status.DUPLICATE,
+						"User with this email already exists");
+			} else {
+				results[i] = row(i, requests.get(i), BulkProvisionResponse.Status.CREATED, null);
+				readYourWritesTracker.recordWrite(requests.get(i).getUserEmail());
+				created++;
+			}
+		}
+		log.info("Provisioned {} of {} users", created, requests.size());
+
+		return BulkProvisionResponse.builder().created(created).rejected(requests.size() - created)
+				.results(List.of(results)).build();
+	}
+
+	private String firstViolation(SignUpRequest request) {
+		if (request == null) {
+			return "Row is empty";
+		}
+		Set<ConstraintViolation<SignUpRequest>> violations = validator.validate(request);
+		return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+	}
+
+	private Set<String> findExistingEmails(List<String> emails) {
+		Set<String> existing = new HashSet<>();
+		for (int from = 0; from < emails.size(); from += LOOKUP_CHUNK_SIZE) {
+			List<String> chunk = emails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, emails.size()));
+			// Uniqueness has to be checked against the primary, not a lagging replica
+			readYourWritesTracker.onPrimary(() -> userRepository.findExistingEmails(chunk))
+					.forEach(email -> existing.add(normalize(email)));
+		}
+		return existing;
+	}
+
+	private List<String> hashPasswords(List<String> passwords) {
+		List<Callable<String>> tasks = passwords.stream().<Callable<String>>map(password -> () -> passwordEncoder
+				.encode(password)).toList();
+		try {
+			List<String> hashes = new ArrayList<>(tasks.size());
+			for (Future<String> future : hashingExecutor.invokeAll(tasks)) {
+				hashes.add(future.get());
+			}
+			return hashes;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Password hashing was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Password hashing failed", e.getCause());
+		}
+	}
+
+	// Returns the positions in accepted whose email was registered after the lookup
+	private Set<Integer> insertUsers(List<SignUpRequest> requests, List<Integer> accepted, List<String> hashes) {
+		List<Object[]> rows = new ArrayList<>(accepted.size());
+		for (int n = 0; n < accepted.size(); n++) {
+			SignUpRequest request = requests.get(accepted.get(n));
+			String userRole = (request.getUserRole() != null && !request.getUserRole().isBlank())
+					? request.getUserRole()
+					: DEFAULT_USER_ROLE;
+			rows.add(new Object[] { request.getUserEmail(), request.getUserFullName(), hashes.get(n), userRole });
+		}
+		// Batched JDBC inserts in a single transaction; hashing stays outside it
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int from = 0; from < rows.size(); from += insertBatchSize) {
+					jdbcTemplate.batchUpdate(INSERT_USER, rows.subList(from, Math.min(from + insertBatchSize, rows.size())));
+				}
+			});
+			return Set.of();
+		} catch (DuplicateKeyException e) {
+			// A concurrent sign-up took one of the emails and rolled the batch back; retry row by row
+			log.info("Bulk insert hit an email registered meanwhile, inserting {} rows one by one", rows.size());
+		}
+		Set<Integer> taken = new HashSet<>();
+		for (int n = 0; n < rows.size(); n++) {
+			Object[] row = rows.get(n);
+			try {
+				transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_USER, row));
+			} catch (DuplicateKeyException e) {
+				taken.add(n);
+			}
+		}
+		return taken;
+	}
+
+	private static String normalize(String email) {
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static BulkProvisionResponse.RowResult row(int index, SignUpRequest request,
+			BulkProvisionResponse.Status status, String message) {
+		return BulkProvisionResponse.RowResult.builder().index(index)
+				.userEmail(request == null ? null : request.getUserEmail()).status(status).message(message).build();
+	}
+}
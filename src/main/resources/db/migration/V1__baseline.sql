@@ -0,0 +1,42 @@
+-- Schema as previously created by ddl-auto=update. Existing databases are baselined below this
+-- version, so it must stay idempotent; V1.1 adds the columns those databases are missing
+CREATE TABLE IF NOT EXISTS users (
+	user_id INT NOT NULL AUTO_INCREMENT,
+	user_full_name VARCHAR(255),
+	user_email VARCHAR(255),
+	user_password VARCHAR(255),
+	user_role VARCHAR(255),
+	PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+	product_id INT NOT NULL AUTO_INCREMENT,
+	product_name VARCHAR(255),
+	product_description VARCHAR(255),
+	product_price DOUBLE NOT NULL,
+	product_cost DOUBLE NOT NULL,
+	version BIGINT NOT NULL DEFAULT 0,
+	PRIMARY KEY (product_id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_sessions (
+	family_id VARCHAR(36) NOT NULL,
+	user_email VARCHAR(255),
+	device_id VARCHAR(100),
+	current_jti VARCHAR(36),
+	created_at BIGINT NOT NULL,
+	last_used_at BIGINT NOT NULL,
+	expires_at BIGINT NOT NULL,
+	revoked BOOLEAN NOT NULL,
+	PRIMARY KEY (family_id)
+);
+
+CREATE TABLE IF NOT EXISTS session_invalidation_events (
+	id BIGINT NOT NULL AUTO_INCREMENT,
+	user_email VARCHAR(255),
+	event_type ENUM('LOGOUT', 'ROLE_CHANGED', 'SESSION_REVOKED'),
+	family_id VARCHAR(36),
+	created_at BIGINT NOT NULL,
+	origin_node VARCHAR(64),
+	PRIMARY KEY (id)
+);
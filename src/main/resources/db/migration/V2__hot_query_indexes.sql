@@ -0,0 +1,8 @@
+-- Sign-in and every authenticated request look users up by email. V1.1 refuses to continue
+-- while duplicate emails exist, since this index could not be built over them
+CREATE UNIQUE INDEX ux_users_user_email ON users (user_email);
+
+-- One index per allowed product sort order; product_id breaks ties so paging is stable
+CREATE INDEX ix_products_name_id ON products (product_name, product_id);
+CREATE INDEX ix_products_price_id ON products (product_price, product_id);
+CREATE INDEX ix_products_cost_id ON products (product_cost, product_id);
@@ -0,0 +1,43 @@
+-- Token and audit tables live in their own schema so they can be granted, backed up and purged separately
+CREATE SCHEMA IF NOT EXISTS auth;
+
+CREATE TABLE auth.refresh_sessions (
+	family_id VARCHAR(36) NOT NULL,
+	user_email VARCHAR(255),
+	device_id VARCHAR(100),
+	current_jti VARCHAR(36),
+	created_at BIGINT NOT NULL,
+	last_used_at BIGINT NOT NULL,
+	expires_at BIGINT NOT NULL,
+	revoked BOOLEAN NOT NULL,
+	PRIMARY KEY (family_id)
+);
+
+-- Active-session listing and revoke-all filter by user; the purge job scans by expiry
+CREATE INDEX ix_refresh_sessions_user_expires ON auth.refresh_sessions (user_email, expires_at);
+CREATE INDEX ix_refresh_sessions_expires ON auth.refresh_sessions (expires_at);
+
+CREATE TABLE auth.session_invalidation_events (
+	id BIGINT NOT NULL AUTO_INCREMENT,
+	user_email VARCHAR(255),
+	event_type ENUM('LOGOUT', 'ROLE_CHANGED', 'SESSION_REVOKED'),
+	family_id VARCHAR(36),
+	created_at BIGINT NOT NULL,
+	origin_node VARCHAR(64),
+	PRIMARY KEY (id)
+);
+
+-- The poller reads by id and the purge job deletes by age
+CREATE INDEX ix_session_invalidation_events_created ON auth.session_invalidation_events (created_at);
+
+INSERT INTO auth.refresh_sessions (family_id, user_email, device_id, current_jti, created_at, last_used_at,
+		expires_at, revoked)
+	SELECT family_id, user_email, device_id, current_jti, created_at, last_used_at, expires_at, revoked
+	FROM refresh_sessions;
+
+INSERT INTO auth.session_invalidation_events (id, user_email, event_type, family_id, created_at, origin_node)
+	SELECT id, user_email, event_type, family_id, created_at, origin_node
+	FROM session_invalidation_events;
+
+DROP TABLE refresh_sessions;
+DROP TABLE session_invalidation_events;
@@ -0,0 +1,9 @@
+-- Bumped in the same transaction as every product write, so nodes can tell the catalog changed
+-- by reading one row instead of aggregating over products
+CREATE TABLE catalog_revision (
+	id INT NOT NULL,
+	revision BIGINT NOT NULL,
+	PRIMARY KEY (id)
+);
+
+INSERT INTO catalog_revision (id, revision) VALUES (1, 0);
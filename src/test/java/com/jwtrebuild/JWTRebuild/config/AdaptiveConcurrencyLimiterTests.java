@@ -0,0 +1,61 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.jwtrebuild.JWTRebuild.config.AdaptiveConcurrencyLimiter.Priority;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long FAST = 2_000_000;
+	private static final long SLOW = 40_000_000;
+
+	@Test
+	void limitGrowsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5);
+
+		runSaturated(limiter, FAST, 500);
+		int grown = limiter.getLimit();
+		assertTrue(grown > 20, "limit should grow under steady latency, was " + grown);
+
+		runSaturated(limiter, SLOW, 200);
+		assertTrue(limiter.getLimit() < grown / 2, "limit should drop once latency climbs, was " + limiter.getLimit());
+	}
+
+	@Test
+	void lowerPrioritiesAreShedFirst() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 200, 1.5);
+
+		// Sign-in may use 60% of the limit, authenticated requests 90%, admin all of it
+		for (int i = 0; i < 6; i++) {
+			assertTrue(limiter.tryAcquire(Priority.SIGN_IN));
+		}
+		assertFalse(limiter.tryAcquire(Priority.SIGN_IN));
+		for (int i = 0; i < 3; i++) {
+			assertTrue(limiter.tryAcquire(Priority.AUTHENTICATED));
+		}
+		assertFalse(limiter.tryAcquire(Priority.AUTHENTICATED));
+		assertTrue(limiter.tryAcquire(Priority.ADMIN));
+		assertFalse(limiter.tryAcquire(Priority.ADMIN));
+
+		assertEquals(1, limiter.getShed(Priority.SIGN_IN));
+		assertEquals(1, limiter.getShed(Priority.AUTHENTICATED));
+		assertEquals(1, limiter.getShed(Priority.ADMIN));
+		assertEquals(10, limiter.getInFlight());
+	}
+
+	// Keeps the limiter full, completing one request per step with the given latency
+	private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int completions) {
+		for (int i = 0; i < completions; i++) {
+			while (limiter.tryAcquire(Priority.ADMIN)) {
+			}
+			limiter.release(rttNanos);
+		}
+		while (limiter.getInFlight() > 0) {
+			limiter.release();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+import com.jwtrebuild.JWTRebuild.service.UserInvalidationRegistry;
+
+// The edge (WebFlux) stack must answer like the servlet one: same 401 messages and URL rules
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({ "embedded", "edge" })
+class EdgeSecurityTests {
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Autowired
+	private JWTService jwtService;
+
+	@Autowired
+	private UserInvalidationRegistry userInvalidationRegistry;
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void connect() {
+		client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+	}
+
+	@Test
+	void rejectsMissingAndMalformedTokensWithTheServletMessages() {
+		client.get().uri("/api/share/products").exchange().expectStatus().isUnauthorized().expectBody()
+				.jsonPath("$.message").isEqualTo("Missing or invalid Authorization header");
+		client.get().uri("/api/share/products").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt").exchange()
+				.expectStatus().isUnauthorized().expectBody().jsonPath("$.message").isEqualTo("Malformed token");
+	}
+
+	@Test
+	void appliesTheRoleRules() {
+		String user = bearer("user@edge.test", "USER");
+		String admin = bearer("admin@edge.test", "ADMIN");
+
+		client.get().uri("/api/user/products").header(HttpHeaders.AUTHORIZATION, user).exchange().expectStatus()
+				.isOk();
+		client.get().uri("/api/share/products").header(HttpHeaders.AUTHORIZATION, user).exchange().expectStatus()
+				.isOk();
+		client.get().uri("/api/admin/products").header(HttpHeaders.AUTHORIZATION, user).exchange().expectStatus()
+				.isForbidden();
+		client.get().uri("/api/admin/products").header(HttpHeaders.AUTHORIZATION, admin).exchange().expectStatus()
+				.isOk();
+		client.get().uri("/api/user/products").header(HttpHeaders.AUTHORIZATION, admin).exchange().expectStatus()
+				.isForbidden();
+	}
+
+	@Test
+	void rejectsTokensIssuedBeforeALogout() {
+		String token = bearer("revoked@edge.test", "USER");
+		client.get().uri("/api/share/products").header(HttpHeaders.AUTHORIZATION, token).exchange().expectStatus()
+				.isOk();
+
+		userInvalidationRegistry.invalidate("revoked@edge.test", System.currentTimeMillis());
+		client.get().uri("/api/share/products").header(HttpHeaders.AUTHORIZATION, token).exchange().expectStatus()
+				.isUnauthorized().expectBody().jsonPath("$.message").isEqualTo("Token has been revoked");
+	}
+
+	private String bearer(String username, String role) {
+		return "Bearer " + jwtService.generateAccessToken(User.withUsername(username).password("").authorities(role)
+				.build());
+	}
+}
@@ -0,0 +1,95 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jwtrebuild.JWTRebuild.dto.request.ProductRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
+import com.jwtrebuild.JWTRebuild.service.ProductService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// The "replica" database is never replicated to, so a row's location shows which side served a query
+@SpringBootTest
+@ActiveProfiles({ "embedded", "replica" })
+class ReadWriteRoutingTests {
+
+	private static final String REPLICA_URL = "jdbc:h2:mem:rw-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ReadYourWritesTracker readYourWritesTracker;
+
+	@BeforeEach
+	void createReplicaSchema() {
+		replica.execute("create table if not exists products (product_id int auto_increment primary key, "
+				+ "product_name varchar(255), product_description varchar(255), "
+				+ "product_price double not null, product_cost double not null, version bigint default 0 not null)");
+		replica.update("delete from products");
+	}
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyQueriesAreServedByReplica() {
+		replica.update("insert into products (product_id, product_name, product_price, product_cost) "
+				+ "values (9001, 'replica copy', 1, 1)");
+
+		assertEquals("replica copy", productService.getProductById(9001).getProductName());
+	}
+
+	@Test
+	void writesGoToPrimaryAndReadYourWritesStaysThere() {
+		ProductRequest request = new ProductRequest();
+		request.setProductName("primary only");
+		request.setProductPrice(10);
+		request.setProductCost(5);
+		ProductListResponse created = productService.createProduct(request);
+
+		assertEquals(0, replica.queryForObject("select count(*) from products where product_id = ?", Integer.class,
+				created.getProductId()));
+		assertThrows(EntityNotFoundException.class, () -> productService.getProductById(created.getProductId()));
+		assertEquals("primary only", readYourWritesTracker
+				.onPrimary(() -> productService.getProductById(created.getProductId())).getProductName());
+	}
+
+	@Test
+	void authenticatedWriterReadsItsOwnWriteFromPrimary() {
+		SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken
+				.authenticated("writer@routing.test", null, AuthorityUtils.createAuthorityList("ADMIN")));
+		ProductRequest request = new ProductRequest();
+		request.setProductName("written by subject");
+		request.setProductPrice(10);
+		request.setProductCost(5);
+		ProductListResponse created = productService.createProduct(request);
+
+		// No explicit pin: the subject's recent write alone keeps the next read on the primary
+		assertTrue(readYourWritesTracker.hasRecentWrite("writer@routing.test"));
+		assertEquals("written by subject", productService.getProductById(created.getProductId()).getProductName());
+
+		// Anyone else still reads the replica, which never saw the row
+		SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken
+				.authenticated("reader@routing.test", null, AuthorityUtils.createAuthorityList("USER")));
+		assertThrows(EntityNotFoundException.class, () -> productService.getProductById(created.getProductId()));
+	}
+}
@@ -0,0 +1,92 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.entity.User;
+import com.jwtrebuild.JWTRebuild.repository.ProductRepository;
+import com.jwtrebuild.JWTRebuild.repository.UserRepository;
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class ResponseEncodingNegotiationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private JWTService jwtService;
+
+	private String bearer;
+	private int productId;
+
+	@BeforeEach
+	void signIn() {
+		User user = userRepository.findByUserEmail("encoding@negotiation.test")
+				.orElseGet(() -> userRepository.save(User.builder().userEmail("encoding@negotiation.test")
+						.userFullName("Encoding User").userPassword("{noop}unused").userRole("USER").build()));
+		bearer = "Bearer " + jwtService.generateAccessToken(org.springframework.security.core.userdetails.User
+				.withUsername(user.getUserEmail()).password("").authorities(user.getUserRole()).build());
+		Product product = new Product();
+		product.setProductName("Encoded product");
+		product.setProductPrice(12.5);
+		product.setProductCost(4);
+		productId = productRepository.save(product).getProductId();
+	}
+
+	@Test
+	void jsonIsTheDefault() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/share/products/" + productId).header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk()).andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertEquals("Encoded product",
+				JsonMapper.builder().build().readTree(body).get("productName").asString());
+	}
+
+	@Test
+	void cborIsServedWhenAccepted() throws Exception {
+		byte[] body = mockMvc
+				.perform(get("/api/share/products/" + productId).header(HttpHeaders.AUTHORIZATION, bearer)
+						.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk()).andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertEquals("Encoded product",
+				CBORMapper.builder().build().readTree(body).get("productName").asString());
+	}
+
+	@Test
+	void smileIsServedWhenAccepted() throws Exception {
+		byte[] body = mockMvc
+				.perform(get("/api/share/products/" + productId).header(HttpHeaders.AUTHORIZATION, bearer)
+						.accept(WebConfig.APPLICATION_SMILE))
+				.andExpect(status().isOk()).andExpect(content().contentTypeCompatibleWith(WebConfig.APPLICATION_SMILE))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertEquals("Encoded product",
+				SmileMapper.builder().build().readTree(body).get("productName").asString());
+	}
+}
@@ -0,0 +1,66 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+
+// Starts from the schema ddl-auto=update used to leave behind: two tables, no products.version
+class SchemaUpgradeTests {
+
+	@Test
+	void databaseFromBeforeMigrationsIsUpgradedInPlace() throws Exception {
+		String url = legacyDatabase("upgrade", "old@upgrade.local", "other@upgrade.local");
+		flyway(url).migrate();
+
+		try (Connection connection = DriverManager.getConnection(url, "sa", "");
+				Statement statement = connection.createStatement();
+				ResultSet rows = statement.executeQuery("SELECT version FROM products")) {
+			rows.next();
+			assertEquals(0, rows.getLong(1));
+		}
+		assertEquals(0, flyway(url).info().pending().length);
+	}
+
+	@Test
+	void duplicateEmailsStopTheUpgradeBeforeTheUniqueIndex() throws Exception {
+		String url = legacyDatabase("duplicates", "twice@upgrade.local", "twice@upgrade.local");
+
+		Throwable failure = assertThrows(FlywayException.class, () -> flyway(url).migrate());
+		while (failure.getCause() != null) {
+			failure = failure.getCause();
+		}
+		assertTrue(failure.getMessage().contains("twice@upgrade.local"), failure.getMessage());
+	}
+
+	private static String legacyDatabase(String name, String firstEmail, String secondEmail) throws Exception {
+		String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+		try (Connection connection = DriverManager.getConnection(url, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE users (user_id INT NOT NULL AUTO_INCREMENT, user_full_name VARCHAR(255), "
+					+ "user_email VARCHAR(255), user_password VARCHAR(255), user_role VARCHAR(255), PRIMARY KEY (user_id))");
+			statement.execute("CREATE TABLE products (product_id INT NOT NULL AUTO_INCREMENT, product_name VARCHAR(255), "
+					+ "product_description VARCHAR(255), product_price DOUBLE NOT NULL, product_cost DOUBLE NOT NULL, "
+					+ "PRIMARY KEY (product_id))");
+			statement.execute("INSERT INTO users (user_email, user_role) VALUES ('" + firstEmail + "', 'USER'), ('"
+					+ secondEmail + "', 'USER')");
+			statement.execute("INSERT INTO products (product_name, product_price, product_cost) VALUES ('Old', 2, 1)");
+		}
+		return url;
+	}
+
+	// The settings application.properties gives Flyway, without a Spring context
+	private static Flyway flyway(String url) {
+		return Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration")
+				.javaMigrations(new V1_1__Upgrade_pre_flyway_schema()).baselineOnMigrate(true).baselineVersion("0")
+				.load();
+	}
+}
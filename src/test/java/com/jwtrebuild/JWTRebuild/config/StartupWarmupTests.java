@@ -0,0 +1,33 @@
+package com.jwtrebuild.JWTRebuild.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class StartupWarmupTests {
+
+	@Autowired
+	private StartupWarmup startupWarmup;
+
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+
+	@Test
+	void warmupRunsBeforeTheInstanceAcceptsTraffic() {
+		StartupWarmup.Report report = startupWarmup.getReport();
+		assertNotNull(report);
+		assertTrue(report.rounds() >= 1);
+		assertTrue(report.tokenMicros() > 0);
+		assertTrue(report.databaseMicros() > 0);
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+	}
+}
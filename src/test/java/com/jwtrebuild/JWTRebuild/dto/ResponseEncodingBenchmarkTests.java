@@ -0,0 +1,89 @@
+package com.jwtrebuild.JWTRebuild.dto;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.jwtrebuild.JWTRebuild.dto.response.AuthResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// mvn -Pperf test -Dgroups=benchmark -Dtest=ResponseEncodingBenchmarkTests
+@Tag("benchmark")
+class ResponseEncodingBenchmarkTests {
+
+	private static final int PAGE_SIZE = 1_000;
+	private static final int WARMUP_ITERATIONS = 2_000;
+	private static final int MEASURED_ITERATIONS = 2_000;
+
+	@Test
+	void binaryEncodingsBeatJsonOnLargePages() {
+		Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+		mappers.put("json", JsonMapper.builder().build());
+		mappers.put("cbor", CBORMapper.builder().build());
+		mappers.put("smile", SmileMapper.builder().build());
+
+		ProductResponse page = productPage(PAGE_SIZE);
+		AuthResponse auth = authResponse();
+
+		System.out.printf("%-8s %14s %12s %14s %12s%n", "format", "page bytes", "page us", "auth bytes", "auth us");
+		Map<String, Integer> pageSizes = new LinkedHashMap<>();
+		for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+			ObjectMapper mapper = entry.getValue();
+			int pageBytes = mapper.writeValueAsBytes(page).length;
+			int authBytes = mapper.writeValueAsBytes(auth).length;
+			double pageMicros = averageMicros(mapper, page);
+			double authMicros = averageMicros(mapper, auth);
+			pageSizes.put(entry.getKey(), pageBytes);
+			System.out.printf("%-8s %14d %12.1f %14d %12.2f%n", entry.getKey(), pageBytes, pageMicros, authBytes,
+					authMicros);
+		}
+
+		assertTrue(pageSizes.get("cbor") < pageSizes.get("json"), "CBOR page should be smaller than JSON");
+		assertTrue(pageSizes.get("smile") < pageSizes.get("json"), "Smile page should be smaller than JSON");
+	}
+
+	private static double averageMicros(ObjectMapper mapper, Object value) {
+		long sink = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			sink += mapper.writeValueAsBytes(value).length;
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			sink += mapper.writeValueAsBytes(value).length;
+		}
+		long elapsed = System.nanoTime() - start;
+		if (sink == 0) {
+			throw new IllegalStateException("Nothing was serialized");
+		}
+		return elapsed / 1_000.0 / MEASURED_ITERATIONS;
+	}
+
+	private static ProductResponse productPage(int size) {
+		List<ProductResponse.ProductSummary> products = new ArrayList<>(size);
+		for (int i = 1; i <= size; i++) {
+			products.add(ProductResponse.ProductSummary.builder().productId(i).productName("Product " + i)
+					.productPrice(10 + i * 0.25).productCost(5 + i * 0.1).build());
+		}
+		return ProductResponse.builder().product(products).currentPage(0).totalPages(50).totalItems(50L * size)
+				.pageSize(size).hasNext(true).hasPrevious(false).build();
+	}
+
+	private static AuthResponse authResponse() {
+		AuthResponse.UserInfo user = AuthResponse.UserInfo.builder().userId(42).userFullName("Benchmark User")
+				.userEmail("benchmark@example.com").userRole("USER").build();
+		return AuthResponse.builder().token("eyJhbGciOiJIUzI1NiJ9." + "a".repeat(220) + ".signature")
+				.refreshToken("eyJhbGciOiJIUzI1NiJ9." + "b".repeat(200) + ".signature").tokenType("Bearer")
+				.expiredTime("15 mn").user(user).build();
+	}
+}
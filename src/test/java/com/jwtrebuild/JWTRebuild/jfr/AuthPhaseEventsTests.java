@@ -0,0 +1,52 @@
+package com.jwtrebuild.JWTRebuild.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jwtrebuild.JWTRebuild.service.JWTService;
+
+import io.jsonwebtoken.JwtException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class AuthPhaseEventsTests {
+
+	@Test
+	void tokenVerificationsAreRecordedWithTypeAndOutcome() throws Exception {
+		JWTService jwtService = new JWTService("xVy2J5WgkeAeBZo6Zwf6Gq39rHkp7yrs", "wIVYNF2gP3PIxaEn11MwcAmD42LvgL4G",
+				"narin-company");
+		ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+		UserDetails user = User.withUsername("jfr@example.com").password("x").authorities("USER").build();
+		String token = jwtService.generateAccessToken(user);
+
+		Path file = Files.createTempFile("auth-phases", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("jwtrebuild.TokenVerification");
+			recording.start();
+			jwtService.verifyAccessToken(token);
+			assertThrows(JwtException.class, () -> jwtService.verifyAccessToken(token + "x"));
+			recording.stop();
+			recording.dump(file);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals("jwtrebuild.TokenVerification")).toList();
+			assertEquals(2, events.size());
+			assertEquals("access", events.get(0).getString("tokenType"));
+			assertEquals("valid", events.get(0).getString("outcome"));
+			assertNotEquals("valid", events.get(1).getString("outcome"));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.jwtrebuild.JWTRebuild.load;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.jwtrebuild.JWTRebuild.JwtRebuildApplication;
+
+/**
+ * Drives the same product-read load against a servlet node and a reactive edge node
+ * sharing one database, and reports both side by side.
+ *
+ * <pre>
+ * mvn -Pperf test -Dgroups=load -Dtest=EdgeThroughputComparisonTests -Dload.concurrency=256
+ * </pre>
+ */
+@Tag("load")
+class EdgeThroughputComparisonTests {
+
+	private static final String SHARED_DB = "jdbc:h2:mem:edge;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 128);
+	private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+	private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+	private static final int SEED_PRODUCTS = 200;
+
+	@Test
+	void compareServletAndEdgeUnderTheSameLoad() throws Exception {
+		try (ConfigurableApplicationContext servletNode = startNode("embedded");
+				ConfigurableApplicationContext edgeNode = startNode("embedded", "edge");
+				ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient httpClient = HttpClient.newBuilder().executor(httpExecutor)
+					.connectTimeout(Duration.ofSeconds(5)).build();
+
+			// Users and products are created through the servlet node; the edge node only reads
+			LoadClient seedClient = new LoadClient(httpClient, baseUrl(servletNode), new LatencyRecorder());
+			String adminToken = seedClient
+					.signUp("Edge Admin", "edge-admin@loadtest.local", "edge-admin-password", "ADMIN")
+					.orElseThrow(() -> new IllegalStateException("Could not create load test admin")).accessToken();
+			String userToken = seedClient.signUp("Edge User", "edge-user@loadtest.local", "edge-user-password", "USER")
+					.orElseThrow(() -> new IllegalStateException("Could not create load test user")).accessToken();
+			List<Integer> productIds = new ArrayList<>();
+			for (int i = 0; i < SEED_PRODUCTS; i++) {
+				seedClient.createProduct(adminToken, "Edge product " + i, 10 + i, 5 + i / 2.0).ifPresent(productIds::add);
+			}
+			assertFalse(productIds.isEmpty(), "Seeding products failed");
+
+			StringBuilder report = new StringBuilder();
+			report.append(String.format("Product reads: %d workers, %s measured per stack%n", CONCURRENCY, DURATION));
+			report.append(String.format("%-22s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors",
+					"req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+			double servletThroughput = measure("servlet", baseUrl(servletNode), httpClient, productIds, userToken,
+					report);
+			double edgeThroughput = measure("edge", baseUrl(edgeNode), httpClient, productIds, userToken, report);
+			report.append(String.format("edge / servlet throughput: %.2f%n", edgeThroughput / servletThroughput));
+
+			System.out.print(report);
+			write(report);
+		}
+	}
+
+	private static double measure(String stack, String baseUrl, HttpClient httpClient, List<Integer> productIds,
+			String accessToken, StringBuilder report) throws Exception {
+		LatencyRecorder recorder = new LatencyRecorder();
+		LoadGenerator generator = new LoadGenerator(new LoadClient(httpClient, baseUrl, recorder), productIds, null);
+		generator.runProductReads(CONCURRENCY, WARMUP, accessToken);
+		recorder.reset();
+
+		long start = System.nanoTime();
+		generator.runProductReads(CONCURRENCY, DURATION, accessToken);
+		double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		Map<String, LatencyRecorder.EndpointStats> stats = recorder.snapshot(elapsedSeconds);
+		double throughput = 0;
+		for (LatencyRecorder.EndpointStats endpoint : stats.values()) {
+			assertTrue(endpoint.errors() == 0, stack + " " + endpoint.endpoint() + " had " + endpoint.errors()
+					+ " errors");
+			report.append(new LatencyRecorder.EndpointStats(stack + " " + endpoint.endpoint(), endpoint.requests(),
+					endpoint.errors(), endpoint.throughput(), endpoint.p50Millis(), endpoint.p99Millis(),
+					endpoint.p999Millis(), endpoint.maxMillis())).append(System.lineSeparator());
+			throughput += endpoint.throughput();
+		}
+		return throughput;
+	}
+
+	// Shedding is off so both stacks are compared on raw throughput
+	private static ConfigurableApplicationContext startNode(String... profiles) {
+		return new SpringApplicationBuilder(JwtRebuildApplication.class).profiles(profiles).run(
+				"--spring.datasource.url=" + SHARED_DB, "--server.port=0", "--app.concurrency-limit.enabled=false");
+	}
+
+	private static String baseUrl(ConfigurableApplicationContext node) {
+		return "http://localhost:" + node.getEnvironment().getProperty("local.server.port");
+	}
+
+	private static void write(StringBuilder report) throws IOException {
+		Path output = Path.of("target", "edge-comparison.txt");
+		Files.createDirectories(output.getParent());
+		Files.writeString(output, report);
+	}
+}
@@ -0,0 +1,76 @@
+package com.jwtrebuild.JWTRebuild.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latency samples (in nanoseconds) and error counts from
+ * many concurrent workers and turns them into a throughput / percentile report.
+ */
+public class LatencyRecorder {
+
+	private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+	public void record(String endpoint, long latencyNanos, boolean success) {
+		samples.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, success);
+	}
+
+	public void reset() {
+		samples.clear();
+	}
+
+	public Map<String, EndpointStats> snapshot(double elapsedSeconds) {
+		Map<String, EndpointStats> stats = new TreeMap<>();
+		samples.forEach((endpoint, value) -> stats.put(endpoint, value.toStats(endpoint, elapsedSeconds)));
+		return stats;
+	}
+
+	public record EndpointStats(String endpoint, long requests, long errors, double throughput, double p50Millis,
+			double p99Millis, double p999Millis, double maxMillis) {
+
+		public double errorRate() {
+			return requests == 0 ? 0 : (double) errors / requests;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-22s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f", endpoint, requests, errors, throughput,
+					p50Millis, p99Millis, p999Millis, maxMillis);
+		}
+	}
+
+	private static final class Samples {
+
+		private long[] latencies = new long[4096];
+		private int count;
+		private long errors;
+
+		synchronized void add(long latencyNanos, boolean success) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, latencies.length * 2);
+			}
+			latencies[count++] = latencyNanos;
+			if (!success) {
+				errors++;
+			}
+		}
+
+		synchronized EndpointStats toStats(String endpoint, double elapsedSeconds) {
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return new EndpointStats(endpoint, count, errors, elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+					percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+					count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+		}
+
+		private static double percentile(long[] sorted, double quantile) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(quantile * sorted.length) - 1;
+			return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+		}
+	}
+}
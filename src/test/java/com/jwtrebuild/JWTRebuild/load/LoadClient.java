@@ -0,0 +1,132 @@
+package com.jwtrebuild.JWTRebuild.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Thin HTTP client for the public API. Every call is timed and recorded against
+ * its endpoint name so scenarios stay free of measurement code.
+ */
+public class LoadClient {
+
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern PRODUCT_ID = Pattern.compile("\"productId\"\\s*:\\s*(\\d+)");
+
+	private final HttpClient httpClient;
+	private final String baseUrl;
+	private final LatencyRecorder recorder;
+
+	public LoadClient(HttpClient httpClient, String baseUrl, LatencyRecorder recorder) {
+		this.httpClient = httpClient;
+		this.baseUrl = baseUrl;
+		this.recorder = recorder;
+	}
+
+	public Optional<Tokens> signUp(String fullName, String email, String password, String role) {
+		String body = String.format(
+				"{\"userFullName\":\"%s\",\"userEmail\":\"%s\",\"userPassword\":\"%s\",\"userRole\":\"%s\"}", fullName,
+				email, password, role);
+		return send("signup", post("/api/auth/signup", body, null), 201).flatMap(LoadClient::tokens);
+	}
+
+	public Optional<Tokens> signIn(String email, String password) {
+		String body = String.format("{\"userEmail\":\"%s\",\"userPassword\":\"%s\"}", email, password);
+		return send("signin", post("/api/auth/signin", body, null), 200).flatMap(LoadClient::tokens);
+	}
+
+	public Optional<Tokens> refresh(String refreshToken) {
+		String body = String.format("{\"refreshToken\":\"%s\"}", refreshToken);
+		return send("refresh", post("/api/auth/refresh", body, null), 200).flatMap(LoadClient::tokens);
+	}
+
+	public boolean me(String accessToken) {
+		return send("me", get("/api/auth/me", accessToken), 200).isPresent();
+	}
+
+	public boolean listProducts(String accessToken, int page, int size, String sortBy, String sortDir) {
+		String path = String.format("/api/share/products?page=%d&size=%d&sortBy=%s&sortDir=%s", page, size, sortBy,
+				sortDir);
+		return send("product-list", get(path, accessToken), 200).isPresent();
+	}
+
+	public boolean getProduct(String accessToken, int productId) {
+		return send("product-get", get("/api/share/products/" + productId, accessToken), 200).isPresent();
+	}
+
+	public Optional<Integer> createProduct(String accessToken, String name, double price, double cost) {
+		return send("admin-create", post("/api/admin/products", productBody(name, price, cost), accessToken), 201)
+				.flatMap(body -> match(PRODUCT_ID, body)).map(Integer::valueOf);
+	}
+
+	public boolean updateProduct(String accessToken, int productId, String name, double price, double cost) {
+		return send("admin-update",
+				post("/api/admin/products/" + productId, productBody(name, price, cost), accessToken), 200)
+				.isPresent();
+	}
+
+	private static String productBody(String name, double price, double cost) {
+		return String.format(Locale.ROOT,
+				"{\"productName\":\"%s\",\"productDescription\":\"Load test product\",\"productPrice\":%.2f,\"productCost\":%.2f}",
+				name, price, cost);
+	}
+
+	private HttpRequest get(String path, String accessToken) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+				.GET();
+		if (accessToken != null) {
+			builder.header("Authorization", "Bearer " + accessToken);
+		}
+		return builder.build();
+	}
+
+	private HttpRequest post(String path, String body, String accessToken) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+		if (accessToken != null) {
+			builder.header("Authorization", "Bearer " + accessToken);
+		}
+		return builder.build();
+	}
+
+	private Optional<String> send(String endpoint, HttpRequest request, int expectedStatus) {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+			boolean success = response.statusCode() == expectedStatus;
+			recorder.record(endpoint, System.nanoTime() - start, success);
+			return success ? Optional.of(response.body()) : Optional.empty();
+		} catch (IOException e) {
+			recorder.record(endpoint, System.nanoTime() - start, false);
+			return Optional.empty();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<Tokens> tokens(String body) {
+		Optional<String> token = match(TOKEN, body);
+		Optional<String> refreshToken = match(REFRESH_TOKEN, body);
+		if (token.isEmpty() || refreshToken.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(new Tokens(token.get(), refreshToken.get()));
+	}
+
+	private static Optional<String> match(Pattern pattern, String body) {
+		Matcher matcher = pattern.matcher(body);
+		return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+	}
+
+	public record Tokens(String accessToken, String refreshToken) {
+	}
+}
@@ -0,0 +1,143 @@
+package com.jwtrebuild.JWTRebuild.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load generator: every worker runs on its own virtual thread, owns
+ * one signed-in user and replays a weighted mix of {@link Scenario}s until the
+ * deadline passes.
+ */
+public class LoadGenerator {
+
+	private static final String PASSWORD = "load-test-password";
+	private static final String[] SORT_KEYS = { "productId", "productName", "productPrice", "productCost" };
+
+	private final LoadClient client;
+	private final List<Integer> productIds;
+	private final String adminAccessToken;
+	private final AtomicInteger signUpSequence = new AtomicInteger();
+
+	public LoadGenerator(LoadClient client, List<Integer> productIds, String adminAccessToken) {
+		this.client = client;
+		this.productIds = productIds;
+		this.adminAccessToken = adminAccessToken;
+	}
+
+	public void run(int concurrency, Duration duration) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		runWorkers(concurrency, () -> work(deadline));
+	}
+
+	// Only the product read scenarios, all with one token: the part of the mix an edge node serves
+	public void runProductReads(int concurrency, Duration duration, String accessToken) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		runWorkers(concurrency, () -> readProducts(deadline, accessToken));
+	}
+
+	private void runWorkers(int concurrency, Runnable worker) throws Exception {
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < concurrency; i++) {
+				futures.add(workers.submit(worker));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+	}
+
+	private void work(long deadline) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String email = nextEmail();
+		LoadClient.Tokens tokens = client.signUp("Load User", email, PASSWORD, "USER").orElse(null);
+
+		while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+			if (tokens == null) {
+				tokens = client.signIn(email, PASSWORD).orElse(null);
+				continue;
+			}
+			switch (Scenario.pick(random)) {
+			case SIGN_UP -> client.signUp("Load User", nextEmail(), PASSWORD, "USER");
+			case SIGN_IN -> tokens = client.signIn(email, PASSWORD).orElse(tokens);
+			case REFRESH -> tokens = client.refresh(tokens.refreshToken()).orElse(tokens);
+			case ME -> client.me(tokens.accessToken());
+			case PRODUCT_LIST -> client.listProducts(tokens.accessToken(), random.nextInt(5), 20,
+					SORT_KEYS[random.nextInt(SORT_KEYS.length)], random.nextBoolean() ? "asc" : "desc");
+			case PRODUCT_GET -> client.getProduct(tokens.accessToken(),
+					productIds.get(random.nextInt(productIds.size())));
+			case ADMIN_WRITE -> adminWrite(random);
+			}
+		}
+	}
+
+	private void readProducts(long deadline, String accessToken) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int listWeight = Scenario.PRODUCT_LIST.weight;
+		int readWeight = listWeight + Scenario.PRODUCT_GET.weight;
+		while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+			if (random.nextInt(readWeight) < listWeight) {
+				client.listProducts(accessToken, random.nextInt(5), 20, SORT_KEYS[random.nextInt(SORT_KEYS.length)],
+						random.nextBoolean() ? "asc" : "desc");
+			} else {
+				client.getProduct(accessToken, productIds.get(random.nextInt(productIds.size())));
+			}
+		}
+	}
+
+	private void adminWrite(ThreadLocalRandom random) {
+		double price = 10 + random.nextInt(990);
+		if (random.nextInt(4) == 0) {
+			client.createProduct(adminAccessToken, "Load product " + random.nextInt(1_000_000), price, price / 2);
+		} else {
+			int productId = productIds.get(random.nextInt(productIds.size()));
+			client.updateProduct(adminAccessToken, productId, "Load product " + productId, price, price / 2);
+		}
+	}
+
+	private String nextEmail() {
+		return "load-" + ProcessHandle.current().pid() + "-" + signUpSequence.incrementAndGet() + "@loadtest.local";
+	}
+
+	/**
+	 * Request mix, weighted towards the authenticated reads that dominate real
+	 * traffic. Weights are relative.
+	 */
+	enum Scenario {
+		SIGN_UP(2), SIGN_IN(5), REFRESH(8), ME(25), PRODUCT_LIST(35), PRODUCT_GET(20), ADMIN_WRITE(5);
+
+		private static final Scenario[] VALUES = values();
+		private static final int TOTAL_WEIGHT = totalWeight();
+
+		private final int weight;
+
+		Scenario(int weight) {
+			this.weight = weight;
+		}
+
+		static Scenario pick(ThreadLocalRandom random) {
+			int roll = random.nextInt(TOTAL_WEIGHT);
+			for (Scenario scenario : VALUES) {
+				roll -= scenario.weight;
+				if (roll < 0) {
+					return scenario;
+				}
+			}
+			return VALUES[VALUES.length - 1];
+		}
+
+		private static int totalWeight() {
+			int total = 0;
+			for (Scenario scenario : values()) {
+				total += scenario.weight;
+			}
+			return total;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.jwtrebuild.JWTRebuild.load;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * End-to-end load regression gate. Runs the whole application on the embedded
+ * database profile and drives it over real HTTP.
+ *
+ * <pre>
+ * mvn -Pperf test -Dgroups=load -Dload.concurrency=64 -Dload.duration=PT60S -Dload.max-p99-ms=250
+ * </pre>
+ */
+@Tag("load")
+// The latency gate measures the application itself, so nothing is shed
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "app.concurrency-limit.enabled=false")
+@ActiveProfiles("embedded")
+class LoadTestHarnessTests {
+
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+	private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+	private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+	private static final double MAX_P99_MILLIS = Double
+			.parseDouble(System.getProperty("load.max-p99-ms", String.valueOf(Double.MAX_VALUE)));
+	private static final int SEED_PRODUCTS = 200;
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Test
+	void replayRealisticMix() throws Exception {
+		LatencyRecorder recorder = new LatencyRecorder();
+		try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient httpClient = HttpClient.newBuilder().executor(httpExecutor)
+					.connectTimeout(Duration.ofSeconds(5)).build();
+			LoadClient client = new LoadClient(httpClient, "http://localhost:" + port, recorder);
+
+			String adminToken = client.signUp("Load Admin", "load-admin@loadtest.local", "load-admin-password", "ADMIN")
+					.orElseThrow(() -> new IllegalStateException("Could not create load test admin")).accessToken();
+			List<Integer> productIds = new ArrayList<>();
+			for (int i = 0; i < SEED_PRODUCTS; i++) {
+				client.createProduct(adminToken, "Seed product " + i, 10 + i, 5 + i / 2.0).ifPresent(productIds::add);
+			}
+			assertFalse(productIds.isEmpty(), "Seeding products failed");
+
+			LoadGenerator generator = new LoadGenerator(client, productIds, adminToken);
+			generator.run(CONCURRENCY, WARMUP);
+			recorder.reset();
+
+			long start = System.nanoTime();
+			generator.run(CONCURRENCY, DURATION);
+			double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+			Map<String, LatencyRecorder.EndpointStats> stats = recorder.snapshot(elapsedSeconds);
+			report(stats, elapsedSeconds);
+
+			for (LatencyRecorder.EndpointStats endpoint : stats.values()) {
+				assertTrue(endpoint.errors() == 0, endpoint.endpoint() + " had " + endpoint.errors() + " errors");
+				assertTrue(endpoint.p99Millis() <= MAX_P99_MILLIS, endpoint.endpoint() + " p99 "
+						+ endpoint.p99Millis() + "ms exceeds budget of " + MAX_P99_MILLIS + "ms");
+			}
+		}
+	}
+
+	private void report(Map<String, LatencyRecorder.EndpointStats> stats, double elapsedSeconds) throws IOException {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Load test: %d workers, %.1fs measured%n", CONCURRENCY, elapsedSeconds));
+		report.append(String.format("%-22s %9s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors",
+				"req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+		stats.values().forEach(endpoint -> report.append(endpoint).append(System.lineSeparator()));
+
+		System.out.print(report);
+		Path output = Path.of("target", "load-report.txt");
+		Files.createDirectories(output.getParent());
+		Files.writeString(output, report);
+	}
+}
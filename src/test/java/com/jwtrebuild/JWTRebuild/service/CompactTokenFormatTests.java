@@ -0,0 +1,102 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+class CompactTokenFormatTests {
+
+	private static final String ACCESS_SECRET = "xVy2J5WgkeAeBZo6Zwf6Gq39rHkp7yrs";
+	private static final String REFRESH_SECRET = "wIVYNF2gP3PIxaEn11MwcAmD42LvgL4G";
+	private static final int WARMUP_ITERATIONS = 20_000;
+	private static final int MEASURED_ITERATIONS = 50_000;
+
+	private final UserDetails user = User.withUsername("compact@example.com").password("x")
+			.authorities("USER", "ADMIN").build();
+
+	@Test
+	void bothFormatsVerifyDuringMigration() {
+		JWTService standard = jwtService("standard", 1);
+		JWTService compact = jwtService("compact", 1);
+
+		// Tokens from either node verify on either node, with the same subject and authorities
+		for (String token : List.of(standard.generateAccessToken(user), compact.generateAccessToken(user))) {
+			for (JWTService verifier : List.of(standard, compact)) {
+				Claims claims = verifier.verifyAccessToken(token);
+				assertEquals("compact@example.com", claims.getSubject());
+				assertEquals(Set.of("USER", "ADMIN"), Set.copyOf(verifier.extractAuthorities(claims)));
+				assertTrue(verifier.isTokenValid(token, user, false));
+			}
+		}
+
+		// A compact token from another issuer id is rejected like a foreign iss
+		String foreign = jwtService("compact", 2).generateAccessToken(user);
+		assertThrows(JwtException.class, () -> compact.verifyAccessToken(foreign));
+
+		// Roles outside the registry fall back to the standard format
+		UserDetails auditor = User.withUsername("auditor@example.com").password("x").authorities("AUDITOR").build();
+		Claims claims = compact.verifyAccessToken(compact.generateAccessToken(auditor));
+		assertEquals(List.of("AUDITOR"), compact.extractAuthorities(claims));
+	}
+
+	// mvn -Pperf test -Dgroups=benchmark -Dtest=CompactTokenFormatTests
+	@Tag("benchmark")
+	@Test
+	void compactTokensAreSmallerAndFasterToVerify() {
+		JWTService standard = jwtService("standard", 1);
+		JWTService compact = jwtService("compact", 1);
+		String standardToken = standard.generateAccessToken(user);
+		String compactToken = compact.generateAccessToken(user);
+
+		double standardMicros = averageVerifyMicros(standard, standardToken);
+		double compactMicros = averageVerifyMicros(compact, compactToken);
+		System.out.printf("%-10s %14s %12s%n", "format", "header bytes", "verify us");
+		System.out.printf("%-10s %14d %12.2f%n", "standard", headerBytes(standardToken), standardMicros);
+		System.out.printf("%-10s %14d %12.2f%n", "compact", headerBytes(compactToken), compactMicros);
+
+		assertTrue(headerBytes(compactToken) < headerBytes(standardToken), "Compact token should be smaller");
+	}
+
+	private static double averageVerifyMicros(JWTService service, String token) {
+		long sink = 0;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			sink += service.extractAuthorities(service.verifyAccessToken(token)).size();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			sink += service.extractAuthorities(service.verifyAccessToken(token)).size();
+		}
+		long elapsed = System.nanoTime() - start;
+		if (sink == 0) {
+			throw new IllegalStateException("Nothing was verified");
+		}
+		return elapsed / 1_000.0 / MEASURED_ITERATIONS;
+	}
+
+	// "Authorization: Bearer <token>" as sent on every hop
+	private static int headerBytes(String token) {
+		return "Authorization: Bearer ".length() + token.length();
+	}
+
+	private static JWTService jwtService(String format, int issuerId) {
+		JWTService service = new JWTService(ACCESS_SECRET, REFRESH_SECRET, "narin-company");
+		ReflectionTestUtils.setField(service, "accessTokenExpiration", 900_000L);
+		ReflectionTestUtils.setField(service, "refreshTokenExpiration", 604_800_000L);
+		ReflectionTestUtils.setField(service, "accessTokenFormat", format);
+		ReflectionTestUtils.setField(service, "issuerId", issuerId);
+		ReflectionTestUtils.setField(service, "compactRoles", new String[] { "USER", "ADMIN" });
+		return service;
+	}
+}
@@ -0,0 +1,44 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jwtrebuild.JWTRebuild.dto.request.SignInRequest;
+import com.jwtrebuild.JWTRebuild.entity.User;
+import com.jwtrebuild.JWTRebuild.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class PasswordUpgradeTests {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void legacyHashIsUpgradedOnSignIn() {
+		// Unprefixed low-cost hash, as stored before the delegating encoder existed
+		userRepository.save(User.builder().userEmail("legacy@upgrade.local").userFullName("Legacy User")
+				.userPassword(new BCryptPasswordEncoder(4).encode("legacy-password")).userRole("USER").build());
+
+		SignInRequest request = new SignInRequest();
+		request.setUserEmail("legacy@upgrade.local");
+		request.setUserPassword("legacy-password");
+		authService.signIn(request);
+
+		String stored = userRepository.findByUserEmail("legacy@upgrade.local").orElseThrow().getUserPassword();
+		assertTrue(stored.startsWith("{bcrypt}$2a$10$"), stored);
+		assertTrue(passwordEncoder.matches("legacy-password", stored));
+	}
+}
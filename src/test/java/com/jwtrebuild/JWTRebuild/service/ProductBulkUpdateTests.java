@@ -0,0 +1,64 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jwtrebuild.JWTRebuild.dto.request.BulkProductUpdateRequest;
+import com.jwtrebuild.JWTRebuild.dto.request.ProductRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class ProductBulkUpdateTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Test
+	void repricesSelectedRowsAndBumpsTheirVersion() {
+		ProductListResponse cheap = productService.createProduct(product("Bulk cheap", 10, 5, null));
+		ProductListResponse pricey = productService.createProduct(product("Bulk pricey", 100, 50, null));
+
+		BulkProductUpdateRequest request = new BulkProductUpdateRequest();
+		request.setProductIds(List.of(cheap.getProductId(), pricey.getProductId()));
+		request.setPriceFactor(1.5);
+		request.setCostDelta(-10);
+
+		// The cheap product's cost would go negative, so only the pricey one changes
+		assertEquals(1, productService.bulkUpdatePrices(request).getUpdated());
+
+		ProductListResponse repriced = productService.getProductById(pricey.getProductId());
+		assertEquals(150, repriced.getProductPrice(), 0.0001);
+		assertEquals(40, repriced.getProductCost(), 0.0001);
+		assertEquals(pricey.getVersion() + 1, repriced.getVersion());
+		assertEquals(cheap.getVersion(), productService.getProductById(cheap.getProductId()).getVersion());
+	}
+
+	@Test
+	void editBasedOnStaleVersionIsRejected() {
+		ProductListResponse created = productService.createProduct(product("Versioned", 20, 10, null));
+		ProductListResponse updated = productService.updateProduct(created.getProductId(),
+				product("Versioned v2", 25, 10, created.getVersion()));
+
+		assertEquals(created.getVersion() + 1, updated.getVersion());
+		assertThrows(OptimisticLockingFailureException.class, () -> productService
+				.updateProduct(created.getProductId(), product("Lost update", 30, 10, created.getVersion())));
+	}
+
+	private static ProductRequest product(String name, double price, double cost, Long version) {
+		ProductRequest request = new ProductRequest();
+		request.setProductName(name);
+		request.setProductPrice(price);
+		request.setProductCost(cost);
+		request.setVersion(version);
+		return request;
+	}
+}
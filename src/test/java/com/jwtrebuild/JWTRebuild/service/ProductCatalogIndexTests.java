@@ -0,0 +1,96 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jwtrebuild.JWTRebuild.dto.request.ProductRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductListResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.ProductResponse;
+import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.repository.ProductRepository;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class ProductCatalogIndexTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductCatalogIndex productCatalogIndex;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void pagesMatchTheDatabaseOrderAndLocalWritesShowImmediately() {
+		for (int i = 0; i < 30; i++) {
+			// Repeated prices exercise the id tie-break
+			productService.createProduct(product("Indexed " + i, 10 + i % 7, 5));
+		}
+		productCatalogIndex.refresh();
+		assertTrue(productCatalogIndex.isWarm());
+
+		ProductResponse indexed = productCatalogIndex.page(1, 8, "productPrice", true).orElseThrow();
+		Sort byPriceDesc = Sort.by("productPrice").descending().and(Sort.by("productId").descending());
+		List<Integer> fromDatabase = productRepository.findAll(PageRequest.of(1, 8, byPriceDesc))
+				.map(Product::getProductId).getContent();
+		assertEquals(fromDatabase,
+				indexed.getProduct().stream().map(ProductResponse.ProductSummary::getProductId).toList());
+		assertEquals(productRepository.count(), indexed.getTotalItems());
+
+		ProductListResponse created = productService.createProduct(product("Indexed top", 1_000_000, 5));
+		ProductResponse first = productService.getAllProducts(0, 1, "productPrice", "desc");
+		assertEquals(created.getProductId(), first.getProduct().get(0).getProductId());
+
+		productService.updateProduct(created.getProductId(), product("Indexed bottom", 0.01, 0.01));
+		first = productService.getAllProducts(0, 1, "productPrice", "asc");
+		assertEquals("Indexed bottom", first.getProduct().get(0).getProductName());
+	}
+
+	@Test
+	void writesFromOtherNodesArePickedUpByTheRevisionCheck() {
+		productService.createProduct(product("Local", 3, 1));
+		productCatalogIndex.refresh();
+		long before = productCatalogIndex.page(0, 1, "productId", false).orElseThrow().getTotalItems();
+
+		// Another node's write: the row and the revision bump commit together, with no local event
+		Product remote = new Product();
+		remote.setProductName("Remote");
+		remote.setProductPrice(4);
+		remote.setProductCost(2);
+		int remoteId = new TransactionTemplate(transactionManager).execute(status -> {
+			int id = productRepository.save(remote).getProductId();
+			productRepository.bumpCatalogRevision();
+			return id;
+		});
+		assertEquals(before, productCatalogIndex.page(0, 1, "productId", false).orElseThrow().getTotalItems());
+
+		productCatalogIndex.refresh();
+		ProductResponse last = productCatalogIndex.page(0, 1, "productId", true).orElseThrow();
+		assertEquals(before + 1, last.getTotalItems());
+		assertEquals(remoteId, last.getProduct().get(0).getProductId());
+	}
+
+	private static ProductRequest product(String name, double price, double cost) {
+		ProductRequest request = new ProductRequest();
+		request.setProductName(name);
+		request.setProductPrice(price);
+		request.setProductCost(cost);
+		return request;
+	}
+}
@@ -0,0 +1,225 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jwtrebuild.JWTRebuild.dto.request.ProductRequest;
+import com.jwtrebuild.JWTRebuild.entity.Product;
+import com.jwtrebuild.JWTRebuild.load.LatencyRecorder;
+import com.jwtrebuild.JWTRebuild.load.LoadClient;
+import com.jwtrebuild.JWTRebuild.repository.ProductRepository;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class ProductChangeFeedTests {
+
+	private record Event(String id, String name, String data) {
+	}
+
+	// Queued by the reader when the server ends the stream
+	private static final String CLOSED = "closed";
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private UserInvalidationRegistry userInvalidationRegistry;
+
+	@Autowired
+	private ProductChangeFeed productChangeFeed;
+
+	@Autowired
+	private ProductCatalogIndex productCatalogIndex;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private HttpClient httpClient;
+	private final List<Stream<String>> streams = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void connect() {
+		httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	}
+
+	// Streams stay open until cancelled, and closing the client would otherwise wait for them
+	@AfterEach
+	void disconnect() {
+		streams.forEach(Stream::close);
+		httpClient.close();
+	}
+
+	@Test
+	@Timeout(60)
+	void streamsCommittedWritesAndResumesFromLastEventId() throws Exception {
+		LoadClient client = new LoadClient(httpClient, "http://localhost:" + port, new LatencyRecorder());
+		String token = client.signUp("Feed Admin", "feed-admin@feedtest.local", "feed-admin-password", "ADMIN")
+				.orElseThrow().accessToken();
+
+		BlockingQueue<Event> live = subscribe(token, null);
+		Event subscribed = next(live);
+		assertEquals(ProductChangeFeed.SUBSCRIBED, subscribed.name());
+
+		int productId = client.createProduct(token, "Streamed product", 42, 21).orElseThrow();
+		Event created = next(live);
+		assertEquals(ProductChangedEvent.CREATED, created.name());
+		assertTrue(created.data().contains("\"productId\":" + productId));
+
+		ProductRequest update = new ProductRequest();
+		update.setProductName("Streamed product v2");
+		update.setProductPrice(43);
+		update.setProductCost(21);
+		productService.updateProduct(productId, update);
+		Event updated = next(live);
+		assertEquals(ProductChangedEvent.UPDATED, updated.name());
+		assertTrue(updated.data().contains("Streamed product v2"));
+
+		// A client that only saw the subscription catches up on both writes
+		BlockingQueue<Event> resumed = subscribe(token, subscribed.id());
+		assertEquals(created.id(), next(resumed).id());
+		assertEquals(updated.id(), next(resumed).id());
+
+		// Ids the feed cannot resume from lead to a full reload
+		BlockingQueue<Event> unknown = subscribe(token, "elsewhere-7");
+		assertEquals(ProductChangeFeed.RESYNC, next(unknown).name());
+	}
+
+	@Test
+	@Timeout(60)
+	void revokingTheTokenEndsTheStream() throws Exception {
+		LoadClient client = new LoadClient(httpClient, "http://localhost:" + port, new LatencyRecorder());
+		String token = client.signUp("Feed User", "feed-user@feedtest.local", "feed-user-password", "USER")
+				.orElseThrow().accessToken();
+
+		BlockingQueue<Event> live = subscribe(token, null);
+		assertEquals(ProductChangeFeed.SUBSCRIBED, next(live).name());
+
+		userInvalidationRegistry.invalidate("feed-user@feedtest.local", System.currentTimeMillis());
+		assertEquals(CLOSED, next(live).name());
+	}
+
+	@Test
+	@Timeout(60)
+	void writesOnOtherNodesLeadToAResync() throws Exception {
+		LoadClient client = new LoadClient(httpClient, "http://localhost:" + port, new LatencyRecorder());
+		String token = client.signUp("Feed Watcher", "feed-watcher@feedtest.local", "feed-watcher-password", "USER")
+				.orElseThrow().accessToken();
+		productCatalogIndex.refresh();
+
+		BlockingQueue<Event> live = subscribe(token, null);
+		assertEquals(ProductChangeFeed.SUBSCRIBED, next(live).name());
+
+		// Another node's write: the row and the revision bump commit together, with no local event
+		Product remote = new Product();
+		remote.setProductName("Written elsewhere");
+		remote.setProductPrice(4);
+		remote.setProductCost(2);
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			productRepository.save(remote);
+			productRepository.bumpCatalogRevision();
+		});
+		productCatalogIndex.refresh();
+		assertEquals(ProductChangeFeed.RESYNC, next(live).name());
+	}
+
+	// Graceful shutdown waits for open requests, so the feed has to end its streams first
+	@Test
+	@Timeout(60)
+	void stoppingTheFeedEndsOpenStreams() throws Exception {
+		LoadClient client = new LoadClient(httpClient, "http://localhost:" + port, new LatencyRecorder());
+		String token = client.signUp("Feed Leaver", "feed-leaver@feedtest.local", "feed-leaver-password", "USER")
+				.orElseThrow().accessToken();
+
+		BlockingQueue<Event> live = subscribe(token, null);
+		assertEquals(ProductChangeFeed.SUBSCRIBED, next(live).name());
+		try {
+			productChangeFeed.stop();
+			assertEquals(CLOSED, next(live).name());
+		} finally {
+			productChangeFeed.start();
+		}
+	}
+
+	private BlockingQueue<Event> subscribe(String token, String lastEventId) throws Exception {
+		HttpRequest.Builder request = HttpRequest
+				.newBuilder(URI.create("http://localhost:" + port + "/api/share/products/changes"))
+				.header("Authorization", "Bearer " + token).header("Accept", "text/event-stream");
+		if (lastEventId != null) {
+			request.header("Last-Event-ID", lastEventId);
+		}
+		HttpResponse<Stream<String>> response = httpClient.send(request.GET().build(),
+				HttpResponse.BodyHandlers.ofLines());
+		assertEquals(200, response.statusCode());
+		streams.add(response.body());
+
+		BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+		Thread.ofVirtual().start(() -> {
+			Iterator<String> lines = response.body().iterator();
+			String id = null;
+			String name = null;
+			StringBuilder data = new StringBuilder();
+			try {
+				while (lines.hasNext()) {
+					String line = lines.next();
+					if (line.isEmpty()) {
+						if (name != null) {
+							events.add(new Event(id, name, data.toString()));
+						}
+						id = null;
+						name = null;
+						data.setLength(0);
+					} else if (line.startsWith("id:")) {
+						id = line.substring(3).trim();
+					} else if (line.startsWith("event:")) {
+						name = line.substring(6).trim();
+					} else if (line.startsWith("data:")) {
+						data.append(line.substring(5));
+					}
+				}
+				events.add(new Event(null, CLOSED, ""));
+			} catch (UncheckedIOException e) {
+				// The stream was cancelled after the test
+			}
+		});
+		return events;
+	}
+
+	private static Event next(BlockingQueue<Event> events) throws InterruptedException {
+		Event event = events.poll(10, TimeUnit.SECONDS);
+		assertNotNull(event, "no change feed event within 10s");
+		return event;
+	}
+}
@@ -0,0 +1,67 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.jwtrebuild.JWTRebuild.dto.request.RefreshTokenRequest;
+import com.jwtrebuild.JWTRebuild.dto.request.SignUpRequest;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class RefreshTokenRotationTests {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Autowired
+	private JWTService jwtService;
+
+	@Test
+	void rotatesOnEveryUseAndRevokesFamilyOnReuse() {
+		SignUpRequest signUp = new SignUpRequest();
+		signUp.setUserFullName("Rotation User");
+		signUp.setUserEmail("rotation@refresh.local");
+		signUp.setUserPassword("rotation-password");
+		String first = authService.signUp(signUp).getRefreshToken();
+
+		String second = authService.refreshToken(refresh(first)).getRefreshToken();
+		assertNotEquals(first, second);
+		assertEquals(1, refreshTokenService.activeSessions("rotation@refresh.local").size());
+
+		// Replaying the rotated token ends the session, so the current one stops working too
+		assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(first)));
+		assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(second)));
+		assertEquals(0, refreshTokenService.activeSessions("rotation@refresh.local").size());
+	}
+
+	@Test
+	void legacyTokenWithoutFamilyIsExchangedOnlyOnce() {
+		SignUpRequest signUp = new SignUpRequest();
+		signUp.setUserFullName("Legacy User");
+		signUp.setUserEmail("legacy@refresh.local");
+		signUp.setUserPassword("legacy-password");
+		authService.signUp(signUp);
+		String legacy = jwtService.generateRefreshToken(
+				User.withUsername("legacy@refresh.local").password("").authorities("USER").build(), "old-device",
+				null, null);
+
+		authService.refreshToken(refresh(legacy));
+		assertThrows(RuntimeException.class, () -> authService.refreshToken(refresh(legacy)));
+	}
+
+	private static RefreshTokenRequest refresh(String token) {
+		RefreshTokenRequest request = new RefreshTokenRequest();
+		request.setRefreshToken(token);
+		return request;
+	}
+}
@@ -0,0 +1,52 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.jwtrebuild.JWTRebuild.JwtRebuildApplication;
+import com.jwtrebuild.JWTRebuild.entity.SessionInvalidationEvent;
+
+// Two application nodes sharing one database, as behind a load balancer
+class SessionInvalidationPropagationTests {
+
+	private static final String SHARED_DB = "jdbc:h2:mem:cluster;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Test
+	void logoutOnOneNodeReachesTheOther() throws InterruptedException {
+		try (ConfigurableApplicationContext nodeA = startNode("node-a");
+				ConfigurableApplicationContext nodeB = startNode("node-b")) {
+			SessionInvalidationService invalidationA = nodeA.getBean(SessionInvalidationService.class);
+			SessionInvalidationService invalidationB = nodeB.getBean(SessionInvalidationService.class);
+			UserInvalidationRegistry registryB = nodeB.getBean(UserInvalidationRegistry.class);
+			invalidationB.poll();
+
+			long issuedAt = System.currentTimeMillis() - 2000;
+			invalidationA.publish(SessionInvalidationEvent.Type.LOGOUT, "cluster@node.local", null);
+
+			long deadline = System.currentTimeMillis() + 5000;
+			while (!registryB.isInvalidated("cluster@node.local", issuedAt) && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+
+			assertTrue(registryB.isInvalidated("cluster@node.local", issuedAt));
+			// Tokens issued after the logout keep working
+			assertFalse(registryB.isInvalidated("cluster@node.local", System.currentTimeMillis() + 2000));
+			SessionInvalidationService.PropagationStats stats = invalidationB.getPropagationStats();
+			assertEquals(1, stats.events());
+			assertTrue(stats.maxMillis() < 5000);
+		}
+	}
+
+	private static ConfigurableApplicationContext startNode(String nodeId) {
+		// Command-line arguments win over the embedded profile's own settings; the
+		// second node finds the schema already migrated
+		return new SpringApplicationBuilder(JwtRebuildApplication.class).profiles("embedded").run(
+				"--spring.datasource.url=" + SHARED_DB, "--server.port=0", "--app.invalidation.node-id=" + nodeId,
+				"--app.invalidation.poll-interval=PT0.1S");
+	}
+}
@@ -0,0 +1,118 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityNotFoundException;
+
+class SingleFlightTests {
+
+	@Test
+	void concurrentCallersShareOneLoadAndItsResult() throws Exception {
+		SingleFlight<Integer, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), 100);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(pool.submit(() -> flight.execute(1, () -> {
+					loads.incrementAndGet();
+					started.countDown();
+					await(release);
+					return "product-1";
+				})));
+			}
+			// Give the other callers time to reach the in-flight load before it finishes
+			started.await();
+			Thread.sleep(200);
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("product-1", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(7, flight.getCoalesced());
+
+		// Nothing is kept once the load is done
+		assertEquals("again", flight.execute(1, () -> "again"));
+		assertEquals(2, flight.getLoads());
+	}
+
+	@Test
+	void waitersRethrowTheLeadersException() throws Exception {
+		SingleFlight<Integer, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), 100);
+		EntityNotFoundException notFound = new EntityNotFoundException("Product not found with id: 7");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> leader = pool.submit(() -> flight.execute(7, () -> {
+				started.countDown();
+				await(release);
+				throw notFound;
+			}));
+			started.await();
+			Thread releaser = new Thread(() -> {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				release.countDown();
+			});
+			releaser.start();
+			EntityNotFoundException thrown = assertThrows(EntityNotFoundException.class,
+					() -> flight.execute(7, () -> "never loaded"));
+			assertSame(notFound, thrown);
+			assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void waitersGiveUpAfterTheTimeout() throws Exception {
+		SingleFlight<Integer, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), 100);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			pool.submit(() -> flight.execute(3, () -> {
+				started.countDown();
+				await(release);
+				return "slow";
+			}));
+			started.await();
+			RuntimeException thrown = assertThrows(RuntimeException.class, () -> flight.execute(3, () -> "unused"));
+			assertEquals("Timed out waiting for an in-flight test lookup", thrown.getMessage());
+		} finally {
+			release.countDown();
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
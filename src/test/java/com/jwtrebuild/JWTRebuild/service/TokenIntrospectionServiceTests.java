@@ -0,0 +1,90 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.jwtrebuild.JWTRebuild.dto.response.IntrospectionResponse;
+
+class TokenIntrospectionServiceTests {
+
+	private static final String ACCESS_SECRET = "xVy2J5WgkeAeBZo6Zwf6Gq39rHkp7yrs";
+	private static final String REFRESH_SECRET = "wIVYNF2gP3PIxaEn11MwcAmD42LvgL4G";
+
+	private final JWTService jwtService = jwtService();
+	private final UserInvalidationRegistry userInvalidationRegistry = new UserInvalidationRegistry(900000);
+	private final TokenIntrospectionService introspectionService = new TokenIntrospectionService(jwtService,
+			userInvalidationRegistry, "gateway-key");
+
+	@Test
+	void reportsEachTokenInRequestOrder() {
+		UserDetails user = User.withUsername("gateway@example.com").password("x").authorities("USER", "ADMIN")
+				.build();
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			tokens.add(i % 2 == 0 ? jwtService.generateAccessToken(user) : "not-a-token");
+		}
+		tokens.add(jwtService.generateRefreshToken(user, "web-browser", "family", "token-id"));
+
+		List<IntrospectionResponse.TokenResult> results = introspectionService.introspect(tokens).getResults();
+
+		assertEquals(tokens.size(), results.size());
+		for (int i = 0; i < 100; i++) {
+			IntrospectionResponse.TokenResult result = results.get(i);
+			if (i % 2 == 0) {
+				assertTrue(result.isActive());
+				assertEquals("gateway@example.com", result.getSubject());
+				assertEquals(Set.of("USER", "ADMIN"), Set.copyOf(result.getAuthorities()));
+			} else {
+				assertFalse(result.isActive());
+			}
+		}
+		// Refresh tokens are signed with a different key and never introspect as active
+		assertFalse(results.get(100).isActive());
+	}
+
+	@Test
+	void revocationCoversTokensIssuedEarlierInTheSameSecond() throws InterruptedException {
+		UserDetails user = User.withUsername("demoted@example.com").password("x").authorities("ADMIN").build();
+		String token;
+		long revokedAt;
+		do {
+			token = jwtService.generateAccessToken(user);
+			Thread.sleep(2);
+			revokedAt = System.currentTimeMillis();
+		} while (jwtService.verifyAccessToken(token).getIssuedAt().getTime() / 1000 != revokedAt / 1000);
+		userInvalidationRegistry.invalidate("demoted@example.com", revokedAt);
+		Thread.sleep(2);
+		String reissued = jwtService.generateAccessToken(user);
+
+		List<IntrospectionResponse.TokenResult> results = introspectionService.introspect(List.of(token, reissued))
+				.getResults();
+
+		assertEquals("revoked", results.get(0).getReason());
+		assertTrue(results.get(1).isActive());
+	}
+
+	@Test
+	void onlyTheConfiguredKeyIsAccepted() {
+		assertTrue(introspectionService.isAuthorizedClient("gateway-key"));
+		assertFalse(introspectionService.isAuthorizedClient("other-key"));
+		assertFalse(introspectionService.isAuthorizedClient(null));
+		assertFalse(new TokenIntrospectionService(jwtService, new UserInvalidationRegistry(900000), "").isAuthorizedClient(""));
+	}
+
+	private static JWTService jwtService() {
+		JWTService service = new JWTService(ACCESS_SECRET, REFRESH_SECRET, "narin-company");
+		ReflectionTestUtils.setField(service, "accessTokenExpiration", 900_000L);
+		ReflectionTestUtils.setField(service, "refreshTokenExpiration", 604_800_000L);
+		return service;
+	}
+}
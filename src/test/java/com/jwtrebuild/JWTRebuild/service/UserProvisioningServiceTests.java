@@ -0,0 +1,80 @@
+package com.jwtrebuild.JWTRebuild.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.jwtrebuild.JWTRebuild.dto.request.SignUpRequest;
+import com.jwtrebuild.JWTRebuild.dto.response.BulkProvisionResponse;
+import com.jwtrebuild.JWTRebuild.dto.response.BulkProvisionResponse.Status;
+import com.jwtrebuild.JWTRebuild.entity.User;
+import com.jwtrebuild.JWTRebuild.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class UserProvisioningServiceTests {
+
+	@Autowired
+	private UserProvisioningService userProvisioningService;
+
+	@MockitoSpyBean
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void reportsEachRowAndInsertsOnlyValidNewUsers() {
+		userRepository.save(User.builder().userEmail("existing@bulk.local").userFullName("Existing")
+				.userPassword(passwordEncoder.encode("secret1")).userRole("USER").build());
+
+		BulkProvisionResponse response = userProvisioningService.provision(List.of(
+				signUp("first@bulk.local", "secret1"), signUp("Existing@Bulk.local", "secret2"),
+				signUp("FIRST@bulk.local", "secret3"), signUp("not-an-email", "secret4"),
+				signUp("second@bulk.local", "secret5")));
+
+		assertEquals(2, response.getCreated());
+		assertEquals(3, response.getRejected());
+		assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.DUPLICATE, Status.INVALID, Status.CREATED),
+				response.getResults().stream().map(BulkProvisionResponse.RowResult::getStatus).toList());
+
+		User created = userRepository.findByUserEmail("second@bulk.local").orElseThrow();
+		assertEquals("USER", created.getUserRole());
+		assertTrue(passwordEncoder.matches("secret5", created.getUserPassword()));
+	}
+
+	@Test
+	void emailTakenAfterTheLookupFailsOnlyItsOwnRow() {
+		userRepository.save(User.builder().userEmail("racer@bulk.local").userFullName("Racer")
+				.userPassword(passwordEncoder.encode("secret1")).userRole("USER").build());
+		// As if the sign-up above committed between the lookup and the insert
+		doReturn(List.of()).when(userRepository).findExistingEmails(any());
+
+		BulkProvisionResponse response = userProvisioningService.provision(List.of(
+				signUp("before-racer@bulk.local", "secret1"), signUp("racer@bulk.local", "secret2"),
+				signUp("after-racer@bulk.local", "secret3")));
+
+		assertEquals(2, response.getCreated());
+		assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.CREATED),
+				response.getResults().stream().map(BulkProvisionResponse.RowResult::getStatus).toList());
+		assertTrue(userRepository.findByUserEmail("after-racer@bulk.local").isPresent());
+	}
+
+	private static SignUpRequest signUp(String email, String password) {
+		SignUpRequest request = new SignUpRequest();
+		request.setUserFullName("Bulk User");
+		request.setUserEmail(email);
+		request.setUserPassword(password);
+		return request;
+	}
+}